@@ -0,0 +1,14 @@
+package com.brewco.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on scheduled background jobs (JobRunner registers every ClusterJob).
+ * Spring Boot supplies the scheduler thread pool (spring.task.scheduling.*
+ * in application.properties).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,9 @@
 package com.brewco.controller;
 
 import com.brewco.service.AdminService;
+import com.brewco.service.CafeService;
+import com.brewco.service.ClusterJob;
+import com.brewco.service.JobRunner;
 import com.brewco.entity.Cafe;
 import com.brewco.dto.CafeAdminResponse;
 import com.brewco.repository.CafeRepository;
@@ -24,6 +27,12 @@ public class AdminController {
     @Autowired
     private CafeRepository cafeRepository;
 
+    @Autowired
+    private CafeService cafeService;
+
+    @Autowired
+    private JobRunner jobRunner;
+
     // Dashboard stats
     @GetMapping("/dashboard-stats")
     public ResponseEntity<?> getDashboardStats() {
@@ -132,7 +141,7 @@ public class AdminController {
     public ResponseEntity<?> verifyCafe(@PathVariable("id") Long id) {
         return cafeRepository.findById(id).map(cafe -> {
             cafe.setIsVerified(true);
-            cafeRepository.save(cafe);
+            cafeService.updateCafe(cafe);
             return ResponseEntity.ok(Map.of("message", "Cafe verified successfully"));
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -142,7 +151,7 @@ public class AdminController {
         return cafeRepository.findById(id).map(cafe -> {
             cafe.setIsVerified(false);
             cafe.setIsActive(false);
-            cafeRepository.save(cafe);
+            cafeService.updateCafe(cafe);
             return ResponseEntity.ok(Map.of("message", "Cafe application rejected"));
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -150,9 +159,29 @@ public class AdminController {
     @DeleteMapping("/cafes/{id}")
     public ResponseEntity<?> deleteCafe(@PathVariable("id") Long id) {
         if (cafeRepository.existsById(id)) {
-            cafeRepository.deleteById(id);
+            cafeService.deleteCafe(id);
             return ResponseEntity.ok(Map.of("message", "Cafe deleted permanently"));
         }
         return ResponseEntity.notFound().build();
     }
+
+    // ---- Background jobs ----
+
+    @GetMapping("/jobs")
+    public ResponseEntity<?> getJobs() {
+        return ResponseEntity.ok(jobRunner.getStatuses());
+    }
+
+    /** Starts a run now on this node; 409 while the job is running anywhere in the cluster. */
+    @PostMapping("/jobs/{name}/run")
+    public ResponseEntity<?> runJob(@PathVariable("name") String name) {
+        ClusterJob job = jobRunner.getJob(name);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!jobRunner.trigger(job)) {
+            return ResponseEntity.status(409).body(Map.of("error", "Job " + name + " is already running"));
+        }
+        return ResponseEntity.accepted().body(Map.of("message", "Job " + name + " started"));
+    }
 }
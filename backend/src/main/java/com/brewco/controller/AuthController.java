@@ -17,11 +17,11 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import com.brewco.entity.RefreshToken;
 import com.brewco.service.RefreshTokenService;
 import com.brewco.repository.UserRepository;
 import com.brewco.dto.*;
+import com.brewco.security.CurrentUser;
 import com.brewco.security.JwtUtil;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import java.util.Map;
@@ -45,6 +45,9 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CurrentUser currentUser;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -75,8 +78,7 @@ public class AuthController {
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String jwt = jwtUtil.generateToken(userDetails);
+            String jwt = jwtUtil.generateToken(user);
 
             ResponseCookie accessCookie = ResponseCookie.from("access_token", jwt)
                     .httpOnly(true).secure(true).sameSite("None")
@@ -154,8 +156,7 @@ public class AuthController {
             return ResponseEntity.status(401).body(new AuthResponse(false, "Not authenticated"));
         }
         try {
-            User user = userRepository.findByEmail(authentication.getName())
-                    .orElseThrow(() -> new Exception("User not found"));
+            User user = currentUser.load(authentication);
             return ResponseEntity.ok(userService.convertToDto(user));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new AuthResponse(false, e.getMessage()));
@@ -177,12 +178,7 @@ public class AuthController {
             refreshToken = refreshTokenService.verifyExpiration(refreshToken);
             User user = refreshToken.getUser();
 
-            String jwt = jwtUtil.generateToken(
-                    new org.springframework.security.core.userdetails.User(
-                            user.getEmail(), user.getPasswordHash() != null ? user.getPasswordHash() : "",
-                            java.util.Collections.singletonList(
-                                    new org.springframework.security.core.authority.SimpleGrantedAuthority(
-                                            "ROLE_" + user.getRole().toUpperCase()))));
+            String jwt = jwtUtil.generateToken(user);
 
             // Set the new access_token cookie so browser auto-sends it
             ResponseCookie accessCookie = ResponseCookie.from("access_token", jwt)
@@ -202,11 +198,7 @@ public class AuthController {
     public ResponseEntity<?> logout(HttpServletResponse response, Authentication authentication) {
         try {
             if (authentication != null && authentication.isAuthenticated()) {
-                UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-                User user = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-                if (user != null) {
-                    refreshTokenService.deleteByUserId(user.getId());
-                }
+                refreshTokenService.deleteByUserId(currentUser.id(authentication));
             }
         } catch (Exception e) {
             // ignore
@@ -229,7 +221,7 @@ public class AuthController {
     @PutMapping("/change-password")
     public ResponseEntity<?> changePassword(@RequestBody Map<String, String> request, Authentication authentication) {
         try {
-            User currentUser = userRepository.findByEmail(authentication.getName()).orElseThrow();
+            User user = currentUser.load(authentication);
             String currentPassword = request.get("currentPassword");
             String newPassword = request.get("newPassword");
 
@@ -237,13 +229,13 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(new AuthResponse(false, "currentPassword and newPassword (min 6 chars) are required"));
             }
 
-            String savedHash = currentUser.getPasswordHash() != null ? currentUser.getPasswordHash() : currentUser.getPassword();
+            String savedHash = user.getPasswordHash() != null ? user.getPasswordHash() : user.getPassword();
             if (savedHash == null || !passwordEncoder.matches(currentPassword, savedHash)) {
                 return ResponseEntity.badRequest().body(new AuthResponse(false, "Current password is incorrect"));
             }
 
-            currentUser.setPasswordHash(passwordEncoder.encode(newPassword));
-            userRepository.save(currentUser);
+            user.setPasswordHash(passwordEncoder.encode(newPassword));
+            userRepository.save(user);
             return ResponseEntity.ok(new AuthResponse(true, "Password changed successfully"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new AuthResponse(false, e.getMessage()));
@@ -279,20 +271,20 @@ public class AuthController {
     public ResponseEntity<?> updateAuthenticatedProfile(@RequestBody Map<String, Object> updates,
             Authentication authentication) {
         try {
-            User currentUser = userRepository.findByEmail(authentication.getName()).orElseThrow();
+            User user = currentUser.load(authentication);
             if (updates.containsKey("isProfileComplete")) {
-                currentUser.setIsProfileComplete(Boolean.parseBoolean(updates.get("isProfileComplete").toString()));
+                user.setIsProfileComplete(Boolean.parseBoolean(updates.get("isProfileComplete").toString()));
             }
             if (updates.containsKey("firstName")) {
-                currentUser.setFirstName(updates.get("firstName").toString());
+                user.setFirstName(updates.get("firstName").toString());
             }
             if (updates.containsKey("lastName")) {
-                currentUser.setLastName(updates.get("lastName").toString());
+                user.setLastName(updates.get("lastName").toString());
             }
             if (updates.containsKey("phoneNumber")) {
-                currentUser.setPhoneNumber(updates.get("phoneNumber").toString());
+                user.setPhoneNumber(updates.get("phoneNumber").toString());
             }
-            User saved = userRepository.save(currentUser);
+            User saved = userRepository.save(user);
             AuthResponse response = new AuthResponse(true, "Profile updated successfully");
             response.setUser(userService.convertToDto(saved));
             return ResponseEntity.ok(response);
@@ -2,21 +2,33 @@ package com.brewco.controller;
 
 import com.brewco.entity.Cafe;
 import com.brewco.entity.CafeTable;
-import com.brewco.entity.MenuCategory;
 import com.brewco.entity.MenuItem;
 import com.brewco.service.CafeService;
 import com.brewco.service.MenuService;
+import com.brewco.service.TableAvailabilityService;
 import com.brewco.service.TableService;
+import com.brewco.util.JsonSnapshot;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/cafes")
 public class CafeController {
 
+    private static final int MAX_SEARCH_DAYS = 14;
+    private static final int MAX_SEARCH_ALTERNATIVES = 20;
+    private static final int MAX_SEARCH_DURATION_MINUTES = 240;
+
     @Autowired
     private CafeService cafeService;
 
@@ -26,6 +38,9 @@ public class CafeController {
     @Autowired
     private TableService tableService;
 
+    @Autowired
+    private TableAvailabilityService tableAvailabilityService;
+
     /** GET /api/cafes — all verified & active cafes (public) */
     @GetMapping
     public ResponseEntity<List<Cafe>> getAllVerifiedCafes() {
@@ -35,18 +50,20 @@ public class CafeController {
     /** GET /api/cafes/{id} — single cafe detail (public) */
     @GetMapping("/{id}")
     public ResponseEntity<?> getCafeById(@PathVariable("id") Long id) {
-        return cafeService.getCafeById(id)
+        return cafeService.getPublicCafe(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    /** GET /api/cafes/{id}/menu — active menu categories for a cafe (public) */
+    /**
+     * GET /api/cafes/{id}/menu — active menu categories for a cafe (public).
+     * Served from a pre-serialized snapshot; honours If-None-Match.
+     */
     @GetMapping("/{id}/menu")
-    public ResponseEntity<?> getCafeMenu(@PathVariable("id") Long id) {
-        return cafeService.getCafeById(id).map(cafe -> {
-            List<MenuCategory> categories = menuService.getActiveCategoriesForCafe(cafe);
-            return ResponseEntity.ok(categories);
-        }).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> getCafeMenu(@PathVariable("id") Long id, HttpServletRequest request) {
+        return cafeService.getPublicCafe(id)
+                .<ResponseEntity<?>>map(cafe -> snapshotResponse(menuService.getActiveCategoriesSnapshot(cafe), request))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     /**
@@ -55,16 +72,15 @@ public class CafeController {
      */
     @GetMapping("/{id}/menu/items")
     public ResponseEntity<?> getCafeMenuItems(@PathVariable("id") Long id,
-            @RequestParam(value = "categoryId", required = false) Long categoryId) {
-        return cafeService.getCafeById(id).map(cafe -> {
+            @RequestParam(value = "categoryId", required = false) Long categoryId, HttpServletRequest request) {
+        return cafeService.getPublicCafe(id).map(cafe -> {
             if (categoryId != null) {
                 return menuService.getCategoryById(categoryId).map(category -> {
                     List<MenuItem> items = menuService.getAvailableItemsForCategory(category);
                     return ResponseEntity.ok(items);
                 }).orElse(ResponseEntity.ok(List.of()));
             }
-            List<MenuItem> items = menuService.getAllItemsForCafe(cafe);
-            return ResponseEntity.ok(items);
+            return snapshotResponse(menuService.getAllItemsSnapshot(cafe), request);
         }).orElse(ResponseEntity.notFound().build());
     }
 
@@ -82,9 +98,70 @@ public class CafeController {
     /** GET /api/cafes/{id}/tables — all tables for a cafe (public) */
     @GetMapping("/{id}/tables")
     public ResponseEntity<?> getCafeTables(@PathVariable("id") Long id) {
-        return cafeService.getCafeById(id).map(cafe -> {
+        return cafeService.getPublicCafe(id).map(cafe -> {
             List<CafeTable> tables = tableService.getTablesForCafe(cafe);
             return ResponseEntity.ok(tables);
         }).orElse(ResponseEntity.notFound().build());
     }
+
+    /**
+     * GET /api/cafes/{id}/tables/search?date=&time=&guests=[&duration=60][&days=1][&alternatives=5]
+     * — tables free for the party at that time, plus the nearest other times
+     * with a free table over the next days (public).
+     */
+    @GetMapping("/{id}/tables/search")
+    public ResponseEntity<?> searchTables(@PathVariable("id") Long id,
+            @RequestParam("date") String date,
+            @RequestParam("time") String time,
+            @RequestParam("guests") int guests,
+            @RequestParam(value = "duration", defaultValue = "60") int duration,
+            @RequestParam(value = "days", defaultValue = "1") int days,
+            @RequestParam(value = "alternatives", defaultValue = "5") int alternatives) {
+        try {
+            LocalDate bookingDate = LocalDate.parse(date);
+            LocalTime startTime = LocalTime.parse(time);
+            if (bookingDate.isBefore(LocalDate.now())) {
+                throw new Exception("Date must not be in the past");
+            }
+            if (guests < 1 || duration < 15 || duration > MAX_SEARCH_DURATION_MINUTES) {
+                throw new Exception("guests must be at least 1 and duration between 15 and "
+                        + MAX_SEARCH_DURATION_MINUTES + " minutes");
+            }
+            int searchDays = Math.max(1, Math.min(days, MAX_SEARCH_DAYS));
+            int maxAlternatives = Math.max(0, Math.min(alternatives, MAX_SEARCH_ALTERNATIVES));
+            return cafeService.getPublicCafe(id)
+                    .<ResponseEntity<?>>map(cafe -> ResponseEntity.ok(tableAvailabilityService.searchTables(
+                            cafe, bookingDate, startTime, duration, guests, searchDays, maxAlternatives)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Writes a snapshot's cached bytes as-is: 304 if the client already has
+     * this ETag, the gzip copy if the client accepts it, plain JSON otherwise.
+     * no-cache makes clients revalidate each time, which is what keeps menu
+     * edits visible while still costing them only a 304.
+     */
+    private ResponseEntity<?> snapshotResponse(JsonSnapshot snapshot, HttpServletRequest request) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.getGzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return builder.contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(snapshot.getGzip());
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON).body(snapshot.getJson());
+    }
 }
@@ -1,9 +1,13 @@
 package com.brewco.controller;
 
 import com.brewco.entity.*;
+import com.brewco.exception.BookingConflictException;
+import com.brewco.exception.OrderStatusConflictException;
 import com.brewco.repository.UserRepository;
+import com.brewco.security.CurrentUser;
 import com.brewco.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -12,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/cafe-owner")
@@ -39,30 +44,52 @@ public class CafeOwnerController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private CafeStatsService cafeStatsService;
+
+    @Autowired
+    private CafeAccessCache cafeAccessCache;
+
+    @Autowired
+    private CurrentUser currentUser;
+
     // ==================== Helper ====================
 
+    /** A reference, not a read: enough for query parameters, owner and changed-by columns. */
     private User getOwner(Authentication auth) {
-        return userRepository.findByEmail(auth.getName()).orElseThrow();
+        return currentUser.reference(auth);
     }
 
-    private Cafe getOwnedCafe(Long cafeId, Authentication auth) throws Exception {
-        User user = getOwner(auth);
-
-        // If it's the owner, check findByIdAndOwner
-        if ("CAFE_OWNER".equals(user.getRole())) {
-            return cafeService.getCafeByIdAndOwner(cafeId, user)
-                    .orElseThrow(() -> new Exception("Cafe not found or you are not the owner"));
+    /**
+     * Throws unless the caller owns the cafe (CAFE_OWNER) or is actively
+     * assigned to it (CHEF/WAITER). Answered from CafeAccessCache and the
+     * token's claims, so it normally runs no query.
+     */
+    private void checkCafeAccess(Long cafeId, Authentication auth) throws Exception {
+        Long userId = currentUser.id(auth);
+        String role = currentUser.role(auth);
+
+        Set<Long> cafeIds = cafeAccessCache.getCafeIds(userId, role);
+        if ("CAFE_OWNER".equals(role)) {
+            if (!cafeIds.contains(cafeId)) {
+                throw new Exception("Cafe not found or you are not the owner");
+            }
+            return;
         }
 
-        // If it's a staff member (CHEF/WAITER), check their assignment
-        StaffAssignment assignment = staffService.getActiveAssignmentForStaff(user)
-                .orElseThrow(() -> new Exception("You are not assigned to any cafe"));
-
-        if (!assignment.getCafe().getId().equals(cafeId)) {
+        if (cafeIds.isEmpty()) {
+            throw new Exception("You are not assigned to any cafe");
+        }
+        if (!cafeIds.contains(cafeId)) {
             throw new Exception("You are not authorized to access this cafe's data");
         }
+    }
 
-        return assignment.getCafe();
+    private Cafe getOwnedCafe(Long cafeId, Authentication auth) throws Exception {
+        checkCafeAccess(cafeId, auth);
+        // Cafe is in the second-level cache, so this is normally not a query either
+        return cafeService.getCafeById(cafeId)
+                .orElseThrow(() -> new Exception("Cafe not found"));
     }
 
     // ==================== Cafe CRUD ====================
@@ -174,51 +201,17 @@ public class CafeOwnerController {
     public ResponseEntity<?> getDashboardStats(@PathVariable("cafeId") Long cafeId, Authentication auth) {
         try {
             Cafe cafe = getOwnedCafe(cafeId, auth);
-            List<Order> allOrders = orderService.getCafeOrders(cafe);
-            List<Booking> allBookings = bookingService.getCafeBookings(cafe);
-            List<StaffAssignment> allStaff = staffService.getActiveStaffForCafe(cafe);
-            List<CafeTable> tables = tableService.getTablesForCafe(cafe);
-
-            BigDecimal totalRevenue = allOrders.stream()
-                    .filter(o -> "DELIVERED".equals(o.getStatus()))
-                    .map(Order::getGrandTotal)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            java.time.LocalDate today = java.time.LocalDate.now();
-            BigDecimal todayRevenue = allOrders.stream()
-                    .filter(o -> "DELIVERED".equals(o.getStatus()) && o.getCreatedAt() != null
-                            && o.getCreatedAt().toLocalDate().equals(today))
-                    .map(Order::getGrandTotal)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            long todayOrders = allOrders.stream()
-                    .filter(o -> o.getCreatedAt() != null && o.getCreatedAt().toLocalDate().equals(today))
-                    .count();
-
-            return ResponseEntity.ok(Map.ofEntries(
-                    Map.entry("totalOrders", allOrders.size()),
-                    Map.entry("pendingOrders", allOrders.stream().filter(o -> "PLACED".equals(o.getStatus())).count()),
-                    Map.entry("confirmedOrders",
-                            allOrders.stream().filter(o -> "CONFIRMED".equals(o.getStatus())).count()),
-                    Map.entry("preparingOrders",
-                            allOrders.stream()
-                                    .filter(o -> "SENT_TO_KITCHEN".equals(o.getStatus())
-                                            || "PREPARING".equals(o.getStatus()))
-                                    .count()),
-                    Map.entry("readyOrders", allOrders.stream().filter(o -> "READY".equals(o.getStatus())).count()),
-                    Map.entry("deliveredOrders",
-                            allOrders.stream().filter(o -> "DELIVERED".equals(o.getStatus())).count()),
-                    Map.entry("totalRevenue", totalRevenue),
-                    Map.entry("todayRevenue", todayRevenue),
-                    Map.entry("todayOrders", todayOrders),
-                    Map.entry("totalBookings", allBookings.size()),
-                    Map.entry("totalTables", tables.size()),
-                    Map.entry("availableTables",
-                            tables.stream().filter(t -> "AVAILABLE".equals(t.getStatus())).count()),
-                    Map.entry("totalStaff", allStaff.size()),
-                    Map.entry("totalChefs", allStaff.stream().filter(s -> "CHEF".equals(s.getRole())).count()),
-                    Map.entry("totalWaiters", allStaff.stream().filter(s -> "WAITER".equals(s.getRole())).count()),
-                    Map.entry("totalMenuItems", menuService.getAllItemsForCafe(cafe).size())));
+
+            // Order figures come from the incrementally maintained aggregates; the rest are COUNT queries
+            Map<String, Object> stats = new java.util.LinkedHashMap<>(cafeStatsService.getOrderStats(cafe));
+            stats.put("totalBookings", bookingService.countCafeBookings(cafe));
+            stats.put("totalTables", tableService.countTablesForCafe(cafe));
+            stats.put("availableTables", tableService.countTablesForCafeByStatus(cafe, "AVAILABLE"));
+            stats.put("totalStaff", staffService.countActiveStaffForCafe(cafe));
+            stats.put("totalChefs", staffService.countActiveStaffForCafeByRole(cafe, "CHEF"));
+            stats.put("totalWaiters", staffService.countActiveStaffForCafeByRole(cafe, "WAITER"));
+            stats.put("totalMenuItems", menuService.countItemsForCafe(cafe));
+            return ResponseEntity.ok(stats);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -262,7 +255,7 @@ public class CafeOwnerController {
             @PathVariable("categoryId") Long categoryId,
             @RequestBody MenuCategory updated, Authentication auth) {
         try {
-            getOwnedCafe(cafeId, auth);
+            checkCafeAccess(cafeId, auth);
             MenuCategory category = menuService.getCategoryById(categoryId)
                     .orElseThrow(() -> new Exception("Category not found"));
             if (updated.getName() != null)
@@ -282,7 +275,7 @@ public class CafeOwnerController {
             @PathVariable("categoryId") Long categoryId,
             Authentication auth) {
         try {
-            getOwnedCafe(cafeId, auth);
+            checkCafeAccess(cafeId, auth);
             menuService.deleteCategory(categoryId);
             return ResponseEntity.ok(Map.of("message", "Category deleted"));
         } catch (Exception e) {
@@ -347,7 +340,7 @@ public class CafeOwnerController {
     public ResponseEntity<?> updateMenuItem(@PathVariable("cafeId") Long cafeId, @PathVariable("itemId") Long itemId,
             @RequestBody MenuItem updated, Authentication auth) {
         try {
-            getOwnedCafe(cafeId, auth);
+            checkCafeAccess(cafeId, auth);
             MenuItem item = menuService.getItemById(itemId)
                     .orElseThrow(() -> new Exception("Menu item not found"));
             if (updated.getName() != null)
@@ -374,7 +367,7 @@ public class CafeOwnerController {
     public ResponseEntity<?> deleteMenuItem(@PathVariable("cafeId") Long cafeId, @PathVariable("itemId") Long itemId,
             Authentication auth) {
         try {
-            getOwnedCafe(cafeId, auth);
+            checkCafeAccess(cafeId, auth);
             menuService.deleteItem(itemId);
             return ResponseEntity.ok(Map.of("message", "Menu item deleted"));
         } catch (Exception e) {
@@ -416,7 +409,7 @@ public class CafeOwnerController {
     public ResponseEntity<?> updateTable(@PathVariable("cafeId") Long cafeId, @PathVariable("tableId") Long tableId,
             @RequestBody CafeTable updated, Authentication auth) {
         try {
-            getOwnedCafe(cafeId, auth);
+            checkCafeAccess(cafeId, auth);
             CafeTable table = tableService.getTableById(tableId)
                     .orElseThrow(() -> new Exception("Table not found"));
             if (updated.getTableNumber() != null)
@@ -439,7 +432,7 @@ public class CafeOwnerController {
     public ResponseEntity<?> deleteTable(@PathVariable("cafeId") Long cafeId, @PathVariable("tableId") Long tableId,
             Authentication auth) {
         try {
-            getOwnedCafe(cafeId, auth);
+            checkCafeAccess(cafeId, auth);
             tableService.deleteTable(tableId);
             return ResponseEntity.ok(Map.of("message", "Table deleted"));
         } catch (Exception e) {
@@ -464,7 +457,7 @@ public class CafeOwnerController {
             Authentication auth) {
         try {
             Cafe cafe = getOwnedCafe(cafeId, auth);
-            User owner = getOwner(auth);
+            User owner = currentUser.load(auth); // returned as the assignment's assignedBy
 
             String firstName = payload.get("firstName");
             String lastName = payload.get("lastName");
@@ -491,7 +484,7 @@ public class CafeOwnerController {
             @PathVariable("assignmentId") Long assignmentId,
             Authentication auth) {
         try {
-            getOwnedCafe(cafeId, auth);
+            checkCafeAccess(cafeId, auth);
             StaffAssignment assignment = staffService.getAssignmentById(assignmentId)
                     .orElseThrow(() -> new Exception("Staff assignment not found"));
             staffService.deactivateAssignment(assignment);
@@ -503,11 +496,14 @@ public class CafeOwnerController {
 
     // ==================== Orders ====================
 
+    /** Newest first, 50 per page (?limit=, max 100); X-Next-Cursor is passed back as ?cursor= for the next page. */
     @GetMapping("/cafes/{cafeId}/orders")
-    public ResponseEntity<?> getOrders(@PathVariable("cafeId") Long cafeId, Authentication auth) {
+    public ResponseEntity<?> getOrders(@PathVariable("cafeId") Long cafeId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit, Authentication auth) {
         try {
             Cafe cafe = getOwnedCafe(cafeId, auth);
-            return ResponseEntity.ok(orderService.getCafeOrders(cafe));
+            return orderService.getCafeOrderPage(cafe, cursor, limit).toResponse();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -517,7 +513,7 @@ public class CafeOwnerController {
     public ResponseEntity<?> getPendingOrders(@PathVariable("cafeId") Long cafeId, Authentication auth) {
         try {
             Cafe cafe = getOwnedCafe(cafeId, auth);
-            List<Order> pending = orderService.getCafeOrdersByStatus(cafe, "PLACED");
+            List<Order> pending = orderService.getBoardOrders(cafe, List.of("PLACED"));
             return ResponseEntity.ok(pending);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -525,24 +521,28 @@ public class CafeOwnerController {
     }
 
     @PutMapping("/cafes/{cafeId}/orders/{orderId}/confirm")
+    @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<?> confirmOrder(@PathVariable("cafeId") Long cafeId, @PathVariable("orderId") Long orderId,
             Authentication auth) {
         try {
             Cafe cafe = getOwnedCafe(cafeId, auth);
-            User owner = getOwner(auth);
             Order order = orderService.getOrderById(orderId)
                     .orElseThrow(() -> new Exception("Order not found"));
             if (!order.getCafe().getId().equals(cafe.getId())) {
                 throw new Exception("Order does not belong to this cafe");
             }
+            User owner = getOwner(auth);
             Order updated = orderService.updateOrderStatus(order, "CONFIRMED", owner, "Confirmed by owner");
             return ResponseEntity.ok(updated);
+        } catch (OrderStatusConflictException e) {
+            throw e; // 409 via GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
     @PutMapping("/cafes/{cafeId}/orders/{orderId}/assign")
+    @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<?> assignOrderStaff(@PathVariable("cafeId") Long cafeId,
             @PathVariable("orderId") Long orderId,
             @RequestBody Map<String, Long> payload, Authentication auth) {
@@ -557,20 +557,22 @@ public class CafeOwnerController {
             Long chefId = payload.get("chefId");
             Long waiterId = payload.get("waiterId");
 
+            User chef = null;
+            User waiter = null;
             if (chefId != null) {
-                User chef = userRepository.findById(chefId)
+                chef = userRepository.findById(chefId)
                         .orElseThrow(() -> new Exception("Chef not found"));
-                order.setAssignedChef(chef);
             }
             if (waiterId != null) {
-                User waiter = userRepository.findById(waiterId)
+                waiter = userRepository.findById(waiterId)
                         .orElseThrow(() -> new Exception("Waiter not found"));
-                order.setAssignedWaiter(waiter);
             }
 
             User owner = getOwner(auth);
-            Order updated = orderService.updateOrderStatus(order, "CONFIRMED", owner, "Staff assigned by owner");
+            Order updated = orderService.assignStaff(order, chef, waiter, owner);
             return ResponseEntity.ok(updated);
+        } catch (OrderStatusConflictException e) {
+            throw e; // 409 via GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -595,7 +597,7 @@ public class CafeOwnerController {
             Authentication auth) {
         try {
             Cafe cafe = getOwnedCafe(cafeId, auth);
-            User owner = getOwner(auth);
+            User owner = currentUser.load(auth); // returned as the booking's customer
 
             Booking booking = new Booking();
             booking.setCafe(cafe);
@@ -629,10 +631,17 @@ public class CafeOwnerController {
                 booking.setEndTime(booking.getStartTime().plusMinutes(slotDuration));
             }
 
-            // Generate a unique reference
-            booking.setBookingRef("BKG-" + System.currentTimeMillis() % 1000000);
+            if (payload.get("tableId") != null) {
+                Long tableId = Long.valueOf(payload.get("tableId").toString());
+                CafeTable table = tableService.getTableById(tableId)
+                        .orElseThrow(() -> new Exception("Table not found"));
+                booking.setTable(table);
+            }
 
+            // Reference is assigned by BookingService.createBooking
             return ResponseEntity.ok(bookingService.createBooking(booking));
+        } catch (BookingConflictException | ConcurrencyFailureException | IllegalArgumentException e) {
+            throw e; // 409/400 via GlobalExceptionHandler; the transaction is already marked for rollback
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -647,10 +656,10 @@ public class CafeOwnerController {
             @PathVariable("bookingId") Long bookingId,
             @RequestBody Map<String, String> payload, Authentication auth) {
         try {
-            getOwnedCafe(cafeId, auth);
-            User owner = getOwner(auth);
+            checkCafeAccess(cafeId, auth);
             Booking booking = bookingService.getBookingById(bookingId)
                     .orElseThrow(() -> new Exception("Booking not found"));
+            User owner = getOwner(auth);
             String newStatus = payload.get("status");
             if (newStatus == null)
                 throw new Exception("Status is required");
@@ -697,6 +706,10 @@ public class CafeOwnerController {
             }
 
             return ResponseEntity.ok(updated);
+        } catch (BookingConflictException | ConcurrencyFailureException | IllegalArgumentException e) {
+            throw e; // 409/400 via GlobalExceptionHandler; the transaction is already marked for rollback
+        } catch (OrderStatusConflictException e) {
+            throw e; // 409 via GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -2,18 +2,22 @@ package com.brewco.controller;
 
 import com.brewco.entity.Cafe;
 import com.brewco.entity.Order;
-import com.brewco.entity.StaffAssignment;
 import com.brewco.entity.User;
+import com.brewco.exception.OrderStatusConflictException;
 import com.brewco.repository.UserRepository;
+import com.brewco.security.CurrentUser;
+import com.brewco.service.CafeAccessCache;
+import com.brewco.service.CafeService;
+import com.brewco.service.KitchenStreamService;
 import com.brewco.service.OrderService;
-import com.brewco.service.StaffService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -29,38 +33,67 @@ public class ChefController {
     private UserRepository userRepository;
 
     @Autowired
-    private StaffService staffService;
+    private CurrentUser currentUser;
+
+    @Autowired
+    private CafeAccessCache cafeAccessCache;
+
+    @Autowired
+    private CafeService cafeService;
 
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private KitchenStreamService kitchenStreamService;
+
+    /** Statuses a chef may move an order into; the transition table decides from where. */
+    private static final List<String> CHEF_STATUSES = List.of("PREPARING", "READY");
+
+    /** From the cached assignment and the cached cafe, so normally no query. */
     private Cafe getAssignedCafe(Authentication authentication) throws Exception {
-        User chef = userRepository.findByEmail(authentication.getName()).orElseThrow();
-        StaffAssignment assignment = staffService.getActiveAssignmentForStaff(chef)
+        Long cafeId = cafeAccessCache.getCafeIds(currentUser.id(authentication), currentUser.role(authentication))
+                .stream().findFirst()
                 .orElseThrow(() -> new Exception("Not assigned to any cafe"));
-        return assignment.getCafe();
+        return cafeService.getCafeById(cafeId).orElseThrow(() -> new Exception("Not assigned to any cafe"));
+    }
+
+    private List<Order> getKitchenOrders(Cafe cafe) {
+        return orderService.getBoardOrders(cafe, KitchenStreamService.KITCHEN_STATUSES);
     }
 
     @GetMapping("/orders")
     public ResponseEntity<?> getActiveOrders(Authentication authentication) {
         try {
             Cafe cafe = getAssignedCafe(authentication);
-            List<Order> orders = new ArrayList<>();
-            orders.addAll(orderService.getCafeOrdersByStatus(cafe, "SENT_TO_KITCHEN"));
-            orders.addAll(orderService.getCafeOrdersByStatus(cafe, "PREPARING"));
-            orders.addAll(orderService.getCafeOrdersByStatus(cafe, "READY"));
-            return ResponseEntity.ok(orders);
+            return ResponseEntity.ok(getKitchenOrders(cafe));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    /**
+     * Live kitchen board — one "snapshot" event with the active orders, then
+     * "order" / "remove" deltas as statuses change. Replaces polling /orders.
+     */
+    @GetMapping(value = "/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamActiveOrders(Authentication authentication) {
+        try {
+            Cafe cafe = getAssignedCafe(authentication);
+            return ResponseEntity.ok(kitchenStreamService.subscribe(cafe.getId(), getKitchenOrders(cafe)));
+        } catch (Exception e) {
+            // EventSource cannot read an error body; the status code is enough to stop reconnecting
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /** Delivered orders, newest first, keyset-paginated like the other order lists. */
     @GetMapping("/orders/history")
-    public ResponseEntity<?> getOrderHistory(Authentication authentication) {
+    public ResponseEntity<?> getOrderHistory(@RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit, Authentication authentication) {
         try {
             Cafe cafe = getAssignedCafe(authentication);
-            List<Order> delivered = orderService.getCafeOrdersByStatus(cafe, "DELIVERED");
-            return ResponseEntity.ok(delivered);
+            return orderService.getCafeOrderPageByStatus(cafe, "DELIVERED", cursor, limit).toResponse();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -70,16 +103,17 @@ public class ChefController {
     @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<?> startPreparing(@PathVariable("orderId") Long orderId, Authentication authentication) {
         try {
-            User chef = userRepository.findByEmail(authentication.getName()).orElseThrow();
+            Long chefId = currentUser.id(authentication);
             return orderService.getOrderById(orderId).map(order -> {
-                if (!"SENT_TO_KITCHEN".equals(order.getStatus())) {
-                    return ResponseEntity.badRequest()
-                            .body(Map.of("error", "Order must be SENT_TO_KITCHEN to start preparing"));
-                }
+                // The chef is returned with the order, so taking over someone else's order reads their row
+                User chef = order.getAssignedChef() != null && chefId.equals(order.getAssignedChef().getId())
+                        ? order.getAssignedChef() : userRepository.findById(chefId).orElseThrow();
                 order.setAssignedChef(chef);
                 Order updated = orderService.updateOrderStatus(order, "PREPARING", chef, "Preparation started by chef");
                 return ResponseEntity.ok(updated);
             }).orElse(ResponseEntity.notFound().build());
+        } catch (OrderStatusConflictException e) {
+            throw e; // 409 via GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -89,14 +123,37 @@ public class ChefController {
     @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<?> markReady(@PathVariable("orderId") Long orderId, Authentication authentication) {
         try {
-            User chef = userRepository.findByEmail(authentication.getName()).orElseThrow();
             return orderService.getOrderById(orderId).map(order -> {
-                if (!"PREPARING".equals(order.getStatus())) {
-                    return ResponseEntity.badRequest().body(Map.of("error", "Order must be PREPARING to mark ready"));
-                }
+                User chef = currentUser.reference(authentication);
                 Order updated = orderService.updateOrderStatus(order, "READY", chef, "Order ready — marked by chef");
                 return ResponseEntity.ok(updated);
             }).orElse(ResponseEntity.notFound().build());
+        } catch (OrderStatusConflictException e) {
+            throw e; // 409 via GlobalExceptionHandler
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/orders/{orderId}/eta")
+    @org.springframework.transaction.annotation.Transactional
+    public ResponseEntity<?> updateEstimatedReadyTime(@PathVariable("orderId") Long orderId,
+            @RequestBody Map<String, Integer> payload,
+            Authentication authentication) {
+        try {
+            Integer minutes = payload.get("minutes");
+            if (minutes == null || minutes < 0)
+                throw new Exception("minutes is required");
+
+            Cafe cafe = getAssignedCafe(authentication);
+            return orderService.getOrderById(orderId).map(order -> {
+                if (!order.getCafe().getId().equals(cafe.getId())) {
+                    return ResponseEntity.status(403).body(Map.of("error", "Order does not belong to your cafe"));
+                }
+                Order updated = orderService.updateEstimatedReadyTime(order,
+                        java.time.LocalDateTime.now().plusMinutes(minutes));
+                return ResponseEntity.ok(updated);
+            }).orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -111,12 +168,16 @@ public class ChefController {
             String status = payload.get("status");
             if (status == null)
                 throw new Exception("Status is required");
+            if (!CHEF_STATUSES.contains(status))
+                throw new Exception("Chefs can only set " + CHEF_STATUSES);
 
-            User chef = userRepository.findByEmail(authentication.getName()).orElseThrow();
             return orderService.getOrderById(orderId).map(order -> {
+                User chef = currentUser.reference(authentication);
                 Order updated = orderService.updateOrderStatus(order, status, chef, "Updated by chef");
                 return ResponseEntity.ok(updated);
             }).orElse(ResponseEntity.notFound().build());
+        } catch (OrderStatusConflictException e) {
+            throw e; // 409 via GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -7,22 +7,30 @@ import com.brewco.entity.User;
 import com.brewco.entity.Cafe;
 import com.brewco.entity.MenuItem;
 import com.brewco.entity.CafeTable;
-import com.brewco.repository.UserRepository;
+import com.brewco.exception.BookingConflictException;
+import com.brewco.exception.OrderStatusConflictException;
+import com.brewco.security.CurrentUser;
 import com.brewco.service.BookingService;
 import com.brewco.service.CafeService;
 import com.brewco.service.MenuService;
 import com.brewco.service.OrderService;
+import com.brewco.service.OrderTrackingStreamService;
 import com.brewco.service.TableService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/customer")
@@ -30,7 +38,7 @@ import java.util.Map;
 public class CustomerController {
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
 
     @Autowired
     private BookingService bookingService;
@@ -47,19 +55,21 @@ public class CustomerController {
     @Autowired
     private TableService tableService;
 
+    @Autowired
+    private OrderTrackingStreamService orderTrackingStreamService;
+
     // ==================== Bookings ====================
 
     @GetMapping("/bookings")
     public ResponseEntity<?> getMyBookings(Authentication authentication) {
-        User customer = userRepository.findByEmail(authentication.getName()).orElseThrow();
-        List<Booking> bookings = bookingService.getCustomerBookings(customer);
+        List<Booking> bookings = bookingService.getCustomerBookings(currentUser.reference(authentication));
         return ResponseEntity.ok(bookings);
     }
 
     @PostMapping("/bookings")
     public ResponseEntity<?> createBooking(@RequestBody Map<String, Object> payload, Authentication authentication) {
         try {
-            User customer = userRepository.findByEmail(authentication.getName()).orElseThrow();
+            User customer = currentUser.load(authentication); // the booking is returned with its customer
 
             Long cafeId = Long.valueOf(payload.get("cafeId").toString());
             Cafe cafe = cafeService.getCafeById(cafeId)
@@ -91,6 +101,8 @@ public class CustomerController {
 
             Booking saved = bookingService.makeBooking(booking);
             return ResponseEntity.ok(Map.of("booking", saved, "bookingId", saved.getId()));
+        } catch (BookingConflictException | ConcurrencyFailureException e) {
+            throw e; // 409 via GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -98,20 +110,25 @@ public class CustomerController {
 
     // ==================== Orders ====================
 
+    /** Newest first, 50 per page (?limit=, max 100); X-Next-Cursor is passed back as ?cursor= for the next page. */
     @GetMapping("/orders")
-    public ResponseEntity<?> getMyOrders(Authentication authentication) {
-        User customer = userRepository.findByEmail(authentication.getName()).orElseThrow();
-        List<Order> orders = orderService.getCustomerOrders(customer);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<?> getMyOrders(@RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit, Authentication authentication) {
+        try {
+            return orderService.getCustomerOrderPage(currentUser.reference(authentication), cursor, limit)
+                    .toResponse();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/orders/{orderId}")
     public ResponseEntity<?> getOrderById(@PathVariable("orderId") Long orderId, Authentication authentication) {
         try {
-            User customer = userRepository.findByEmail(authentication.getName()).orElseThrow();
+            Long customerId = currentUser.id(authentication);
             Order order = orderService.getOrderById(orderId)
                     .orElseThrow(() -> new Exception("Order not found"));
-            if (!order.getCustomer().getId().equals(customer.getId())) {
+            if (!order.getCustomer().getId().equals(customerId)) {
                 return ResponseEntity.status(403).body(Map.of("error", "Not authorized to view this order"));
             }
             return ResponseEntity.ok(order);
@@ -120,11 +137,25 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Live tracking — current status first, then one "status" event per
+     * transition or ETA change. Replaces polling GET /orders/{orderId}.
+     */
+    @GetMapping(value = "/orders/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderStatus(@PathVariable("orderId") Long orderId,
+            Authentication authentication) {
+        Long customerId = currentUser.id(authentication);
+        return orderService.getOrderById(orderId)
+                .filter(order -> order.getCustomer().getId().equals(customerId))
+                .map(order -> ResponseEntity.ok(orderTrackingStreamService.subscribe(order)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/orders")
     @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<?> placeOrder(@RequestBody Map<String, Object> payload, Authentication authentication) {
         try {
-            User customer = userRepository.findByEmail(authentication.getName()).orElseThrow();
+            User customer = currentUser.load(authentication); // emailed and returned with the order
 
             Long cafeId = Long.valueOf(payload.get("cafeId").toString());
             String orderType = (String) payload.get("orderType");
@@ -164,14 +195,20 @@ public class CustomerController {
                 order.setBooking(booking);
             }
 
+            // Resolve the whole cart in one query (cafe-scoped, availability-checked)
+            Set<Long> menuItemIds = new HashSet<>();
+            for (Map<String, Object> itemData : itemsPayload) {
+                menuItemIds.add(Long.valueOf(itemData.get("menuItemId").toString()));
+            }
+            Map<Long, MenuItem> menuItems = menuService.getAvailableItemsForCart(cafe, menuItemIds);
+
             List<OrderItem> orderItems = new ArrayList<>();
             for (Map<String, Object> itemData : itemsPayload) {
                 Long menuItemId = Long.valueOf(itemData.get("menuItemId").toString());
                 int quantity = Integer.parseInt(itemData.get("quantity").toString());
                 String notes = (String) itemData.get("notes");
 
-                MenuItem menuItem = menuService.getItemById(menuItemId)
-                        .orElseThrow(() -> new Exception("Menu item " + menuItemId + " not found"));
+                MenuItem menuItem = menuItems.get(menuItemId);
 
                 OrderItem orderItem = new OrderItem();
                 orderItem.setMenuItem(menuItem);
@@ -197,19 +234,22 @@ public class CustomerController {
     }
 
     @PutMapping("/orders/{orderId}/cancel")
+    @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<?> cancelOrder(@PathVariable("orderId") Long orderId, Authentication authentication) {
         try {
-            User customer = userRepository.findByEmail(authentication.getName()).orElseThrow();
             Order order = orderService.getOrderById(orderId)
                     .orElseThrow(() -> new Exception("Order not found"));
-            if (!order.getCustomer().getId().equals(customer.getId())) {
+            if (!order.getCustomer().getId().equals(currentUser.id(authentication))) {
                 return ResponseEntity.status(403).body(Map.of("error", "Not authorized to cancel this order"));
             }
+            User customer = order.getCustomer(); // the caller, already loaded with the order
             if (!"PLACED".equals(order.getStatus()) && !"CONFIRMED".equals(order.getStatus())) {
                 throw new Exception("Cannot cancel an order that is already " + order.getStatus());
             }
             Order updated = orderService.updateOrderStatus(order, "CANCELLED", customer, "Cancelled by customer");
             return ResponseEntity.ok(Map.of("message", "Order cancelled", "order", updated));
+        } catch (OrderStatusConflictException e) {
+            throw e; // 409 via GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -6,9 +6,8 @@ import com.brewco.dto.PaymentResponse;
 import com.brewco.dto.VerifyPaymentRequest;
 import com.brewco.entity.Order;
 import com.brewco.entity.Payment;
-import com.brewco.entity.User;
 import com.brewco.repository.OrderRepository;
-import com.brewco.repository.UserRepository;
+import com.brewco.security.CurrentUser;
 import com.brewco.service.PaymentService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -48,7 +47,7 @@ public class PaymentController {
     private OrderRepository orderRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
 
     @Autowired
     private RazorpayConfig razorpayConfig;
@@ -104,15 +103,14 @@ public class PaymentController {
             }
 
             // Fetch and validate the order
-            Order order = orderRepository.findById(request.getOrderId())
+            Order order = orderRepository.findWithDetailsById(request.getOrderId())
                     .orElse(null);
             if (order == null) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Order not found"));
             }
 
             // Verify the order belongs to the authenticated customer
-            User customer = userRepository.findByEmail(authentication.getName()).orElse(null);
-            if (customer == null || !order.getCustomer().getId().equals(customer.getId())) {
+            if (!order.getCustomer().getId().equals(currentUser.id(authentication))) {
                 log.warn("Unauthorized payment attempt: user [{}] tried to pay for order [id={}]",
                         authentication.getName(), request.getOrderId());
                 return ResponseEntity.status(403).body(Map.of(
@@ -132,7 +130,7 @@ public class PaymentController {
             PaymentResponse response = paymentService.createRazorpayOrder(order);
 
             log.info("Razorpay order created for customer [{}], order [id={}, ref={}]",
-                    customer.getEmail(), order.getId(), order.getOrderRef());
+                    authentication.getName(), order.getId(), order.getOrderRef());
 
             return ResponseEntity.ok(response);
 
@@ -260,8 +258,7 @@ public class PaymentController {
                 return ResponseEntity.notFound().build();
             }
 
-            User customer = userRepository.findByEmail(authentication.getName()).orElse(null);
-            if (customer == null || !order.getCustomer().getId().equals(customer.getId())) {
+            if (!order.getCustomer().getId().equals(currentUser.id(authentication))) {
                 return ResponseEntity.status(403).body(Map.of("error", "Not authorized"));
             }
 
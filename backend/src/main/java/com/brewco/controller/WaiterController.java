@@ -2,11 +2,12 @@ package com.brewco.controller;
 
 import com.brewco.entity.Cafe;
 import com.brewco.entity.Order;
-import com.brewco.entity.StaffAssignment;
 import com.brewco.entity.User;
-import com.brewco.repository.UserRepository;
+import com.brewco.exception.OrderStatusConflictException;
+import com.brewco.security.CurrentUser;
+import com.brewco.service.CafeAccessCache;
+import com.brewco.service.CafeService;
 import com.brewco.service.OrderService;
-import com.brewco.service.StaffService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,23 +27,33 @@ import java.util.Map;
 public class WaiterController {
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
 
     @Autowired
-    private StaffService staffService;
+    private CafeAccessCache cafeAccessCache;
+
+    @Autowired
+    private CafeService cafeService;
 
     @Autowired
     private OrderService orderService;
 
+    /** Statuses a waiter may move an order into; the transition table decides from where. */
+    private static final List<String> WAITER_STATUSES = List.of("SENT_TO_KITCHEN", "DELIVERED");
+
+    private static final List<String> WAITER_BOARD_STATUSES = List.of("CONFIRMED", "SENT_TO_KITCHEN", "READY");
+
+    /** A reference, not a read: it is only a query parameter or the history's changed-by. */
     private User getWaiter(Authentication authentication) {
-        return userRepository.findByEmail(authentication.getName()).orElseThrow();
+        return currentUser.reference(authentication);
     }
 
+    /** From the cached assignment and the cached cafe, so normally no query. */
     private Cafe getAssignedCafe(Authentication authentication) throws Exception {
-        User waiter = getWaiter(authentication);
-        StaffAssignment assignment = staffService.getActiveAssignmentForStaff(waiter)
+        Long cafeId = cafeAccessCache.getCafeIds(currentUser.id(authentication), currentUser.role(authentication))
+                .stream().findFirst()
                 .orElseThrow(() -> new Exception("Not assigned to any cafe"));
-        return assignment.getCafe();
+        return cafeService.getCafeById(cafeId).orElseThrow(() -> new Exception("Not assigned to any cafe"));
     }
 
     @GetMapping("/orders")
@@ -51,16 +62,9 @@ public class WaiterController {
             Cafe cafe = getAssignedCafe(authentication);
             User waiter = getWaiter(authentication);
 
-            List<Order> orders = new ArrayList<>();
-            for (String status : List.of("CONFIRMED", "SENT_TO_KITCHEN", "READY", "DELIVERED")) {
-                for (Order order : orderService.getCafeOrdersByStatus(cafe, status)) {
-                    if (waiter.getId()
-                            .equals(order.getAssignedWaiter() != null ? order.getAssignedWaiter().getId() : null)
-                            || !"DELIVERED".equals(status)) {
-                        orders.add(order);
-                    }
-                }
-            }
+            // Active orders of the whole cafe, but only this waiter's own deliveries
+            List<Order> orders = new ArrayList<>(orderService.getBoardOrders(cafe, WAITER_BOARD_STATUSES));
+            orders.addAll(orderService.getBoardOrdersForWaiter(cafe, "DELIVERED", waiter));
             return ResponseEntity.ok(orders);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -71,16 +75,14 @@ public class WaiterController {
     @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<?> sendToKitchen(@PathVariable("orderId") Long orderId, Authentication authentication) {
         try {
-            User waiter = getWaiter(authentication);
             return orderService.getOrderById(orderId).map(order -> {
-                if (!"CONFIRMED".equals(order.getStatus())) {
-                    return ResponseEntity.badRequest()
-                            .body(Map.of("error", "Order must be CONFIRMED to send to kitchen"));
-                }
+                User waiter = getWaiter(authentication);
                 Order updated = orderService.updateOrderStatus(order, "SENT_TO_KITCHEN", waiter,
                         "Forwarded to kitchen by waiter");
                 return ResponseEntity.ok(updated);
             }).orElse(ResponseEntity.notFound().build());
+        } catch (OrderStatusConflictException e) {
+            throw e; // 409 via GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -90,14 +92,13 @@ public class WaiterController {
     @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<?> markDelivered(@PathVariable("orderId") Long orderId, Authentication authentication) {
         try {
-            User waiter = getWaiter(authentication);
             return orderService.getOrderById(orderId).map(order -> {
-                if (!"READY".equals(order.getStatus())) {
-                    return ResponseEntity.badRequest().body(Map.of("error", "Order must be READY to deliver"));
-                }
+                User waiter = getWaiter(authentication);
                 Order updated = orderService.updateOrderStatus(order, "DELIVERED", waiter, "Delivered by waiter");
                 return ResponseEntity.ok(updated);
             }).orElse(ResponseEntity.notFound().build());
+        } catch (OrderStatusConflictException e) {
+            throw e; // 409 via GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -112,12 +113,16 @@ public class WaiterController {
             String status = payload.get("status");
             if (status == null)
                 throw new Exception("Status is required");
+            if (!WAITER_STATUSES.contains(status))
+                throw new Exception("Waiters can only set " + WAITER_STATUSES);
 
-            User waiter = getWaiter(authentication);
             return orderService.getOrderById(orderId).map(order -> {
+                User waiter = getWaiter(authentication);
                 Order updated = orderService.updateOrderStatus(order, status, waiter, "Updated by waiter");
                 return ResponseEntity.ok(updated);
             }).orElse(ResponseEntity.notFound().build());
+        } catch (OrderStatusConflictException e) {
+            throw e; // 409 via GlobalExceptionHandler
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
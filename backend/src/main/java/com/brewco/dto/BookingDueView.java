@@ -0,0 +1,14 @@
+package com.brewco.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** A booking the expiry job has to look at, with the (booking_date, start_time, id) key it is read in. */
+public interface BookingDueView {
+
+    Long getId();
+
+    LocalDate getBookingDate();
+
+    LocalTime getStartTime();
+}
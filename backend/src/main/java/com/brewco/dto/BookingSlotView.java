@@ -0,0 +1,17 @@
+package com.brewco.dto;
+
+import java.time.LocalTime;
+
+/** The part of a booking that holds a table; what TableAvailabilityService loads per cafe and day. */
+public interface BookingSlotView {
+
+    Long getId();
+
+    Long getTableId();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+
+    Integer getSlotDuration();
+}
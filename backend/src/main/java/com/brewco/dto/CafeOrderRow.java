@@ -0,0 +1,18 @@
+package com.brewco.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/** A row of the owner's order board: the order's columns with its item lines alongside. */
+@Data
+@AllArgsConstructor
+public class CafeOrderRow {
+
+    @JsonUnwrapped
+    private CafeOrderView order;
+
+    private List<OrderLineView> items;
+}
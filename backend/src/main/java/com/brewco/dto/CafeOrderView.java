@@ -0,0 +1,39 @@
+package com.brewco.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Order projection for the cafe owner's order board: the summary columns
+ * plus the assigned chef and waiter, joined in the same query.
+ */
+public interface CafeOrderView extends OrderSummaryView {
+
+    @JsonIgnore
+    Long getChefId();
+
+    @JsonIgnore
+    String getChefFirstName();
+
+    @JsonIgnore
+    String getChefLastName();
+
+    @JsonIgnore
+    Long getWaiterId();
+
+    @JsonIgnore
+    String getWaiterFirstName();
+
+    @JsonIgnore
+    String getWaiterLastName();
+
+    default StaffRef getAssignedChef() {
+        return getChefId() != null ? new StaffRef(getChefId(), getChefFirstName(), getChefLastName()) : null;
+    }
+
+    default StaffRef getAssignedWaiter() {
+        return getWaiterId() != null ? new StaffRef(getWaiterId(), getWaiterFirstName(), getWaiterLastName()) : null;
+    }
+
+    record StaffRef(Long id, String firstName, String lastName) {
+    }
+}
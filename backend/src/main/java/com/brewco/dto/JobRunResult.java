@@ -0,0 +1,11 @@
+package com.brewco.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one JobRunner run on this node. outcome is COMPLETED, FAILED or
+ * SKIPPED (the lease was held elsewhere); error is null unless FAILED.
+ */
+public record JobRunResult(String job, String trigger, String node, String outcome,
+                           LocalDateTime startedAt, long durationMs, int chunks, int items, String error) {
+}
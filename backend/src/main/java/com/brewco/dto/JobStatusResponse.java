@@ -0,0 +1,12 @@
+package com.brewco.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A job's lease as stored in job_leases (cluster-wide) and the last run seen
+ * by the node answering the request (null if it has not run here yet).
+ */
+public record JobStatusResponse(String name, long intervalSeconds, long maxRunTimeSeconds,
+                                boolean running, String lockedBy, LocalDateTime lockedUntil,
+                                JobRunResult lastRun) {
+}
@@ -0,0 +1,23 @@
+package com.brewco.dto;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. nextCursor is null on the last page.
+ * It travels in the X-Next-Cursor header (pass it back as ?cursor=) so the
+ * body stays the plain JSON array these endpoints have always returned.
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder.body(items);
+    }
+}
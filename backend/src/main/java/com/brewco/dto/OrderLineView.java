@@ -0,0 +1,18 @@
+package com.brewco.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+
+/** One line of an order as shown on list screens; loaded for a whole page of orders at once. */
+public interface OrderLineView {
+
+    @JsonIgnore
+    Long getOrderId();
+
+    String getName();
+
+    Integer getQuantity();
+
+    BigDecimal getUnitPrice();
+}
@@ -0,0 +1,26 @@
+package com.brewco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status transition pushed to a customer's order-tracking screen.
+ * Only carries what changes, so the client keeps its loaded order and patches it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdate {
+    private Long orderId;
+    private String orderRef;
+    private String status;
+    private String previousStatus;
+    private String paymentStatus;
+    private LocalDateTime estimatedReadyTime;
+    private LocalDateTime updatedAt;
+}
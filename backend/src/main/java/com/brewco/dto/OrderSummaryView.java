@@ -0,0 +1,59 @@
+package com.brewco.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Closed projection of an order for list screens (customer order history,
+ * chef history). Selected column-by-column in one query by OrderRepository,
+ * so no lazy relation is ever touched. The cafe and table come back as flat
+ * columns and are re-nested for JSON, matching the shape the entity had.
+ */
+public interface OrderSummaryView {
+
+    Long getId();
+
+    String getOrderRef();
+
+    String getOrderType();
+
+    String getStatus();
+
+    BigDecimal getGrandTotal();
+
+    String getPaymentStatus();
+
+    String getSpecialInstructions();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    @JsonIgnore
+    Long getCafeId();
+
+    @JsonIgnore
+    String getCafeName();
+
+    @JsonIgnore
+    String getCafeCity();
+
+    @JsonIgnore
+    Integer getTableNumber();
+
+    default CafeRef getCafe() {
+        return new CafeRef(getCafeId(), getCafeName(), getCafeCity());
+    }
+
+    default TableRef getTable() {
+        return getTableNumber() != null ? new TableRef(getTableNumber()) : null;
+    }
+
+    record CafeRef(Long id, String name, String city) {
+    }
+
+    record TableRef(Integer tableNumber) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.brewco.dto;
+
+import java.util.List;
+
+/**
+ * Result of GET /api/cafes/{id}/tables/search: the requested window (tables
+ * may be empty) and the nearest other windows that have a table, closest first.
+ */
+public record TableSearchResponse(int guests, TableSlot requested, List<TableSlot> alternatives) {
+}
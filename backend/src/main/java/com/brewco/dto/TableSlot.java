@@ -0,0 +1,11 @@
+package com.brewco.dto;
+
+import com.brewco.entity.CafeTable;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/** A time window and the tables that can seat the party for all of it, smallest first. */
+public record TableSlot(LocalDate date, LocalTime startTime, LocalTime endTime, List<CafeTable> tables) {
+}
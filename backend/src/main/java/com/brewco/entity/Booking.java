@@ -49,7 +49,7 @@ public class Booking {
     private Integer numberOfGuests;
 
     @Column(nullable = false)
-    private String status = "PENDING"; // PENDING, CONFIRMED, CANCELLED, COMPLETED
+    private String status = "PENDING"; // PENDING, CONFIRMED, CANCELLED, COMPLETED, EXPIRED
 
     @Column(name = "special_requests", columnDefinition = "TEXT")
     private String specialRequests;
@@ -60,6 +60,10 @@ public class Booking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Status changes are a compare-and-set on this column (owner actions vs. BookingExpiryService)
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
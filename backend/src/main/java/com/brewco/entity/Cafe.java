@@ -2,6 +2,8 @@ package com.brewco.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -9,6 +11,8 @@ import java.time.LocalTime;
 
 @Entity
 @Table(name = "cafes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cafes")
 @Data
 public class Cafe {
     @Id
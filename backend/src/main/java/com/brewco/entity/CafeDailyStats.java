@@ -0,0 +1,36 @@
+package com.brewco.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-cafe, per-day order aggregates, keyed by the day the order was created.
+ * Maintained incrementally by CafeStatsService on every order transition.
+ */
+@Entity
+@Table(name = "cafe_daily_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_cafe_daily_stats_cafe_date", columnNames = { "cafe_id", "stats_date" })
+})
+@Data
+public class CafeDailyStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cafe_id", nullable = false)
+    private Long cafeId;
+
+    @Column(name = "stats_date", nullable = false)
+    private LocalDate statsDate;
+
+    @Column(name = "orders_placed", nullable = false)
+    private Long ordersPlaced = 0L;
+
+    @Column(name = "orders_delivered", nullable = false)
+    private Long ordersDelivered = 0L;
+
+    @Column(name = "delivered_revenue", nullable = false, precision = 12, scale = 2)
+    private BigDecimal deliveredRevenue = BigDecimal.ZERO;
+}
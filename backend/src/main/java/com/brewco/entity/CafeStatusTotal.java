@@ -0,0 +1,32 @@
+package com.brewco.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.math.BigDecimal;
+
+/**
+ * Live number of a cafe's orders currently in one status, and the sum of their
+ * grand totals (so the DELIVERED row doubles as all-time revenue).
+ */
+@Entity
+@Table(name = "cafe_status_totals", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_cafe_status_totals_cafe_status", columnNames = { "cafe_id", "status" })
+})
+@Data
+public class CafeStatusTotal {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cafe_id", nullable = false)
+    private Long cafeId;
+
+    @Column(nullable = false, length = 30)
+    private String status;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(name = "total_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+}
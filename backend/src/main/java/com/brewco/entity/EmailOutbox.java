@@ -0,0 +1,59 @@
+package com.brewco.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Outgoing email written in the same transaction as the change that caused it.
+ * EmailOutboxDispatcher delivers it after commit and retries with backoff.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next", columnList = "status, next_attempt_at")
+})
+@Data
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "to_email", nullable = false)
+    private String toEmail;
+
+    @Column(nullable = false)
+    private String subject;
+
+    /** Cleared once the email is SENT; it can hold one-time credentials. */
+    @Column(columnDefinition = "TEXT")
+    private String html;
+
+    @Column(nullable = false)
+    private String status = "PENDING"; // PENDING, SENDING, SENT, DEAD
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
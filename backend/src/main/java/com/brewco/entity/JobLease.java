@@ -0,0 +1,32 @@
+package com.brewco.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which node may run a background job, and until when. The row is created
+ * by the first node that runs the job; see JobRunner.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+}
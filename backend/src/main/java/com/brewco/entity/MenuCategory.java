@@ -2,10 +2,14 @@ package com.brewco.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "menu_categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "menu-categories")
 @Data
 public class MenuCategory {
     @Id
@@ -2,12 +2,16 @@ package com.brewco.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "menu_items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "menu-items")
 @Data
 public class MenuItem {
     @Id
@@ -3,15 +3,40 @@ package com.brewco.entity;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.OptimisticLock;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "orders") // Prevent SQL reserved keyword issues
+@NamedEntityGraph(name = Order.BOARD_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("cafe"),
+                @NamedAttributeNode("customer"),
+                @NamedAttributeNode("table"),
+                @NamedAttributeNode("booking"),
+                @NamedAttributeNode("assignedChef"),
+                @NamedAttributeNode("assignedWaiter"),
+                @NamedAttributeNode(value = "items", subgraph = "items")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode(value = "menuItem", subgraph = "menuItem")),
+                @NamedSubgraph(name = "menuItem", attributeNodes = @NamedAttributeNode("category"))
+        })
 @Data
 public class Order {
+
+    /**
+     * Everything the staff boards serialize: the to-one relations and the item
+     * lines with their menu item and category. items is the only collection in
+     * it, so the join yields one row per order line and no cartesian product.
+     */
+    public static final String BOARD_GRAPH = "Order.board";
+    // Pooled sequence (table-emulated on MySQL) instead of IDENTITY so the order, its items and
+    // the first history row are JDBC-batched; seeded past existing ids by the V3 migration
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderIdGen")
+    @SequenceGenerator(name = "orderIdGen", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_ref", unique = true, updatable = false)
@@ -57,6 +82,10 @@ public class Order {
     @Column(nullable = false)
     private String status = "PLACED"; // PLACED, CONFIRMED, PREPARING, READY, DELIVERED, CANCELLED
 
+    // Every status transition is a compare-and-set on this column (see OrderStatusMachine)
+    @Version
+    private Long version;
+
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
     private BigDecimal totalAmount = BigDecimal.ZERO;
 
@@ -69,9 +98,11 @@ public class Order {
     @Column(name = "grand_total", nullable = false, precision = 10, scale = 2)
     private BigDecimal grandTotal = BigDecimal.ZERO;
 
+    @OptimisticLock(excluded = true)
     @Column(name = "payment_status", nullable = false)
     private String paymentStatus = "PENDING"; // PENDING, COMPLETED, FAILED
 
+    @OptimisticLock(excluded = true)
     @Column(name = "estimated_ready_time")
     private LocalDateTime estimatedReadyTime;
 
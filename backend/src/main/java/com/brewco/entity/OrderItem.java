@@ -9,7 +9,8 @@ import java.math.BigDecimal;
 @Data
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderItemIdGen")
+    @SequenceGenerator(name = "orderItemIdGen", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
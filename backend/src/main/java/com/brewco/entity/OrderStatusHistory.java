@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 @Data
 public class OrderStatusHistory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderStatusHistoryIdGen")
+    @SequenceGenerator(name = "orderStatusHistoryIdGen", sequenceName = "order_status_history_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,10 +3,14 @@ package com.brewco.entity;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "staff_assignments")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "staff-assignments")
 @Data
 public class StaffAssignment {
     @Id
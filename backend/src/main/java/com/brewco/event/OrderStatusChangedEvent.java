@@ -0,0 +1,18 @@
+package com.brewco.event;
+
+import com.brewco.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by OrderService whenever an order is placed or changes status.
+ * Listeners that push to clients should use @TransactionalEventListener so
+ * they only fire once the change is committed.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    private final Order order;
+    private final String previousStatus; // null when the order was just placed
+    private final String newStatus;
+}
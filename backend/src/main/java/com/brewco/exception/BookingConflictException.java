@@ -0,0 +1,28 @@
+package com.brewco.exception;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The requested table is already held by another PENDING or CONFIRMED
+ * booking for an overlapping time. Carries the slot so the client can offer
+ * another table or time.
+ */
+@Getter
+public class BookingConflictException extends RuntimeException {
+
+    private final Long tableId;
+    private final LocalDate bookingDate;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+
+    public BookingConflictException(Long tableId, LocalDate bookingDate, LocalTime startTime, LocalTime endTime) {
+        super("Table is already booked between " + startTime + " and " + endTime + " on " + bookingDate);
+        this.tableId = tableId;
+        this.bookingDate = bookingDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+}
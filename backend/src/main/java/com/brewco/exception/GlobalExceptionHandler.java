@@ -2,6 +2,8 @@ package com.brewco.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -36,7 +38,42 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(RateLimitException.class)
     public ResponseEntity<Map<String, Object>> handleRateLimitException(RateLimitException ex) {
-        return buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+        ResponseEntity<Map<String, Object>> response = buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+        if (ex.getRetryAfterSeconds() > 0) {
+            return ResponseEntity.status(response.getStatusCode())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                    .body(response.getBody());
+        }
+        return response;
+    }
+
+    @ExceptionHandler(OrderStatusConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleOrderStatusConflictException(OrderStatusConflictException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", ex.getMessage());
+        response.put("orderId", ex.getOrderId());
+        response.put("currentStatus", ex.getCurrentStatus());
+        response.put("requestedStatus", ex.getRequestedStatus());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(BookingConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleBookingConflictException(BookingConflictException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", ex.getMessage());
+        response.put("tableId", ex.getTableId());
+        response.put("bookingDate", ex.getBookingDate());
+        response.put("startTime", ex.getStartTime());
+        response.put("endTime", ex.getEndTime());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    /** Optimistic-lock losses and lock wait timeouts, e.g. two people changing one booking at once. */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleConcurrencyFailureException(ConcurrencyFailureException ex) {
+        return buildErrorResponse(HttpStatus.CONFLICT, "This was changed by someone else at the same time — refresh and try again");
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
@@ -0,0 +1,28 @@
+package com.brewco.exception;
+
+import lombok.Getter;
+
+/**
+ * A status change lost a race or is not allowed from the order's current
+ * status. Carries the status the order is actually in so the caller can
+ * refresh instead of retrying blindly.
+ */
+@Getter
+public class OrderStatusConflictException extends RuntimeException {
+
+    private final Long orderId;
+    private final String currentStatus;
+    private final String requestedStatus;
+
+    public OrderStatusConflictException(Long orderId, String currentStatus, String requestedStatus) {
+        this("Order cannot move from " + currentStatus + " to " + requestedStatus,
+                orderId, currentStatus, requestedStatus);
+    }
+
+    public OrderStatusConflictException(String message, Long orderId, String currentStatus, String requestedStatus) {
+        super(message);
+        this.orderId = orderId;
+        this.currentStatus = currentStatus;
+        this.requestedStatus = requestedStatus;
+    }
+}
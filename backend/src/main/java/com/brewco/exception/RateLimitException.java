@@ -1,7 +1,19 @@
 package com.brewco.exception;
 
 public class RateLimitException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
     public RateLimitException(String message) {
+        this(message, 0);
+    }
+
+    public RateLimitException(String message, long retryAfterSeconds) {
         super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
     }
 }
@@ -1,19 +1,78 @@
 package com.brewco.repository;
 
+import com.brewco.dto.BookingDueView;
+import com.brewco.dto.BookingSlotView;
 import com.brewco.entity.Booking;
 import com.brewco.entity.Cafe;
 import com.brewco.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    /** Rows strictly after (:afterDate, :afterTime, :afterId) in (booking_date, start_time, id) order. */
+    String AFTER_SLOT = " AND (b.bookingDate > :afterDate OR (b.bookingDate = :afterDate"
+            + " AND (b.startTime > :afterTime OR (b.startTime = :afterTime AND b.id > :afterId))))";
+
     List<Booking> findByCafe(Cafe cafe);
 
     List<Booking> findByCustomer(User customer);
 
     List<Booking> findByCafeAndBookingDate(Cafe cafe, LocalDate bookingDate);
+
+    long countByCafe(Cafe cafe);
+
+    /** Table-holding bookings of one cafe and day, for the in-memory availability index. */
+    @Query("SELECT b.id AS id, b.table.id AS tableId, b.startTime AS startTime, b.endTime AS endTime, "
+            + "b.slotDuration AS slotDuration FROM Booking b "
+            + "WHERE b.cafe.id = :cafeId AND b.bookingDate = :date AND b.table IS NOT NULL AND b.status IN :statuses")
+    List<BookingSlotView> findSlotsByCafeIdAndDate(@Param("cafeId") Long cafeId, @Param("date") LocalDate date,
+            @Param("statuses") Collection<String> statuses);
+
+    /**
+     * Other bookings holding the table at an overlapping time. A locking read, so it sees rows
+     * committed after the caller's transaction snapshot (run it while holding the table's row lock).
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT b.id FROM Booking b WHERE b.table.id = :tableId AND b.bookingDate = :date "
+            + "AND b.status IN :statuses AND b.startTime < :endTime AND b.endTime > :startTime AND b.id <> :excludeId")
+    List<Long> findOverlappingIds(@Param("tableId") Long tableId, @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime, @Param("endTime") LocalTime endTime,
+            @Param("statuses") Collection<String> statuses, @Param("excludeId") Long excludeId);
+
+    /**
+     * PENDING bookings the owner did not answer in time, or whose slot has already started; soonest
+     * first, from just after the given (booking_date, start_time, id) position.
+     */
+    @Query("SELECT b.id AS id, b.bookingDate AS bookingDate, b.startTime AS startTime FROM Booking b "
+            + "WHERE b.status = 'PENDING' AND (b.createdAt < :createdBefore "
+            + "OR b.bookingDate < :today OR (b.bookingDate = :today AND b.startTime <= :now))" + AFTER_SLOT
+            + " ORDER BY b.bookingDate, b.startTime, b.id")
+    List<BookingDueView> findExpiredPending(@Param("createdBefore") LocalDateTime createdBefore,
+            @Param("today") LocalDate today, @Param("now") LocalTime now, @Param("afterDate") LocalDate afterDate,
+            @Param("afterTime") LocalTime afterTime, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * CONFIRMED bookings whose slot ended before the cutoff; oldest first, from just after the given
+     * position. Slots running past midnight (or without an end time) count as ending with their day.
+     */
+    @Query("SELECT b.id AS id, b.bookingDate AS bookingDate, b.startTime AS startTime FROM Booking b "
+            + "WHERE b.status = 'CONFIRMED' AND (b.bookingDate < :cutoffDate "
+            + "OR (b.bookingDate = :cutoffDate AND b.endTime > b.startTime AND b.endTime <= :cutoffTime))" + AFTER_SLOT
+            + " ORDER BY b.bookingDate, b.startTime, b.id")
+    List<BookingDueView> findFinishedConfirmed(@Param("cutoffDate") LocalDate cutoffDate,
+            @Param("cutoffTime") LocalTime cutoffTime, @Param("afterDate") LocalDate afterDate,
+            @Param("afterTime") LocalTime afterTime, @Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,33 @@
+package com.brewco.repository;
+
+import com.brewco.entity.CafeDailyStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface CafeDailyStatsRepository extends JpaRepository<CafeDailyStats, Long> {
+
+    Optional<CafeDailyStats> findByCafeIdAndStatsDate(Long cafeId, LocalDate statsDate);
+
+    /** Atomic upsert-and-add, safe under concurrent transitions for the same cafe/day. */
+    @Modifying
+    // Declares the only table touched, so Hibernate does not evict the whole second-level cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cafe_daily_stats"))
+    @Query(value = "INSERT INTO cafe_daily_stats (cafe_id, stats_date, orders_placed, orders_delivered, delivered_revenue) "
+            + "VALUES (:cafeId, :statsDate, :placed, :delivered, :revenue) "
+            + "ON DUPLICATE KEY UPDATE orders_placed = orders_placed + :placed, "
+            + "orders_delivered = orders_delivered + :delivered, delivered_revenue = delivered_revenue + :revenue",
+            nativeQuery = true)
+    int applyDelta(@Param("cafeId") Long cafeId, @Param("statsDate") LocalDate statsDate,
+            @Param("placed") long placed, @Param("delivered") long delivered, @Param("revenue") BigDecimal revenue);
+}
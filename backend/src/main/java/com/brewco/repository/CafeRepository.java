@@ -2,8 +2,12 @@ package com.brewco.repository;
 
 import com.brewco.entity.Cafe;
 import com.brewco.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +15,7 @@ import java.util.Optional;
 
 @Repository
 public interface CafeRepository extends JpaRepository<Cafe, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Cafe> findByOwner(User owner);
 
     @Query("SELECT c FROM Cafe c JOIN FETCH c.owner")
@@ -18,5 +23,9 @@ public interface CafeRepository extends JpaRepository<Cafe, Long> {
 
     List<Cafe> findByIsVerifiedTrueAndIsActiveTrue();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Cafe> findByIdAndOwner(Long id, User owner);
+
+    @Query("SELECT c.id FROM Cafe c WHERE c.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
 }
@@ -0,0 +1,31 @@
+package com.brewco.repository;
+
+import com.brewco.entity.CafeStatusTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface CafeStatusTotalRepository extends JpaRepository<CafeStatusTotal, Long> {
+
+    List<CafeStatusTotal> findByCafeId(Long cafeId);
+
+    /** Atomic upsert-and-add, safe under concurrent transitions for the same cafe. */
+    @Modifying
+    // Declares the only table touched, so Hibernate does not evict the whole second-level cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cafe_status_totals"))
+    @Query(value = "INSERT INTO cafe_status_totals (cafe_id, status, order_count, total_amount) "
+            + "VALUES (:cafeId, :status, :countDelta, :amountDelta) "
+            + "ON DUPLICATE KEY UPDATE order_count = order_count + :countDelta, total_amount = total_amount + :amountDelta",
+            nativeQuery = true)
+    int applyDelta(@Param("cafeId") Long cafeId, @Param("status") String status,
+            @Param("countDelta") long countDelta, @Param("amountDelta") BigDecimal amountDelta);
+}
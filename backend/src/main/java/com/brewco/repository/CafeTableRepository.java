@@ -2,14 +2,32 @@ package com.brewco.repository;
 
 import com.brewco.entity.Cafe;
 import com.brewco.entity.CafeTable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CafeTableRepository extends JpaRepository<CafeTable, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<CafeTable> findByCafe(Cafe cafe);
 
+    /** SELECT ... FOR UPDATE: serializes booking writes for one table across transactions and nodes. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM CafeTable t WHERE t.id = :id")
+    Optional<CafeTable> findByIdForUpdate(@Param("id") Long id);
+
     long countByStatus(String status);
+
+    long countByCafe(Cafe cafe);
+
+    long countByCafeAndStatus(Cafe cafe, String status);
 }
@@ -0,0 +1,38 @@
+package com.brewco.repository;
+
+import com.brewco.entity.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /** Compare-and-set claim so a row is only ever delivered by one worker (or node). */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = 'SENDING', e.claimedAt = :now WHERE e.id = :id AND e.status = 'PENDING'")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /** Puts rows back in the queue if their worker died mid-send. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = 'PENDING' WHERE e.status = 'SENDING' AND e.claimedAt < :cutoff")
+    int releaseStuck(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(String status);
+
+    /** SENT and DEAD rows whose last attempt is older than the cutoff (status, next_attempt_at index). */
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status IN ('SENT', 'DEAD') AND e.nextAttemptAt < :cutoff")
+    List<Long> findFinishedIdsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
@@ -0,0 +1,47 @@
+package com.brewco.repository;
+
+import com.brewco.entity.JobLease;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /** Compare-and-set: takes the lease only if it has run out, so at most one node wins. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLease l SET l.lockedUntil = :until, l.lockedAt = :now, l.lockedBy = :node " +
+            "WHERE l.jobName = :name AND l.lockedUntil <= :now")
+    int acquire(@Param("name") String name, @Param("node") String node,
+                @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    /**
+     * Creates the lease for a job's first run. A plain INSERT, so a node that
+     * loses the race gets a duplicate-key error; save() would merge and
+     * overwrite the winner's lease.
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "job_leases"))
+    @Query(value = "INSERT INTO job_leases (job_name, locked_until, locked_at, locked_by) " +
+            "VALUES (:name, :until, :now, :node)", nativeQuery = true)
+    int create(@Param("name") String name, @Param("node") String node,
+               @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    /** Ends our own lease early; a no-op if it already ran out and someone else took it. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLease l SET l.lockedUntil = :now " +
+            "WHERE l.jobName = :name AND l.lockedBy = :node AND l.lockedAt = :lockedAt")
+    int release(@Param("name") String name, @Param("node") String node,
+                @Param("lockedAt") LocalDateTime lockedAt, @Param("now") LocalDateTime now);
+}
@@ -2,14 +2,19 @@ package com.brewco.repository;
 
 import com.brewco.entity.Cafe;
 import com.brewco.entity.MenuCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface MenuCategoryRepository extends JpaRepository<MenuCategory, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MenuCategory> findByCafeAndIsActiveTrueOrderByDisplayOrder(Cafe cafe);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MenuCategory> findByCafeOrderByDisplayOrder(Cafe cafe);
 }
@@ -3,18 +3,32 @@ package com.brewco.repository;
 import com.brewco.entity.Cafe;
 import com.brewco.entity.MenuCategory;
 import com.brewco.entity.MenuItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MenuItem> findByCategoryAndIsAvailableTrue(MenuCategory category);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MenuItem> findByCafe(Cafe cafe);
 
     List<MenuItem> findByCategory(MenuCategory category);
 
     List<MenuItem> findByCafeAndCategory(Cafe cafe, MenuCategory category);
+
+    long countByCafe(Cafe cafe);
+
+    /** Cart price lookup: one query, category fetched in the same join, scoped to the cafe. */
+    @Query("SELECT m FROM MenuItem m JOIN FETCH m.category WHERE m.cafe.id = :cafeId AND m.id IN :ids")
+    List<MenuItem> findAllByCafeIdAndIdIn(@Param("cafeId") Long cafeId, @Param("ids") Collection<Long> ids);
 }
@@ -1,13 +1,21 @@
 package com.brewco.repository;
 
+import com.brewco.dto.OrderLineView;
 import com.brewco.entity.Order;
 import com.brewco.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrder(Order order);
+
+    @Query("SELECT i.order.id AS orderId, m.name AS name, i.quantity AS quantity, i.unitPrice AS unitPrice "
+            + "FROM OrderItem i JOIN i.menuItem m WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderLineView> findLinesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -1,23 +1,60 @@
 package com.brewco.repository;
 
+import com.brewco.dto.CafeOrderView;
+import com.brewco.dto.OrderSummaryView;
 import com.brewco.entity.Cafe;
 import com.brewco.entity.Order;
 import com.brewco.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.brewco.entity.Booking;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByCafe(Cafe cafe);
 
-    List<Order> findByCustomer(User customer);
+    // Keyset pages over (created_at DESC, id DESC). "createdAt <= :createdAt" leads so the
+    // (…, created_at) indexes range-scan; InnoDB appends id to them, which breaks ties.
+    String SUMMARY_COLUMNS = "o.id AS id, o.orderRef AS orderRef, o.orderType AS orderType, o.status AS status, "
+            + "o.grandTotal AS grandTotal, o.paymentStatus AS paymentStatus, "
+            + "o.specialInstructions AS specialInstructions, o.createdAt AS createdAt, o.updatedAt AS updatedAt, "
+            + "c.id AS cafeId, c.name AS cafeName, c.city AS cafeCity, t.tableNumber AS tableNumber";
+    String SUMMARY_JOINS = " FROM Order o JOIN o.cafe c LEFT JOIN o.table t";
+    String AFTER_CURSOR = " AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id)"
+            + " ORDER BY o.createdAt DESC, o.id DESC";
 
-    List<Order> findByCafeAndStatus(Cafe cafe, String status);
+    @Query("SELECT " + SUMMARY_COLUMNS + SUMMARY_JOINS + " WHERE o.customer.id = :customerId" + AFTER_CURSOR)
+    List<OrderSummaryView> findCustomerOrderPage(@Param("customerId") Long customerId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + SUMMARY_JOINS + " WHERE c.id = :cafeId AND o.status = :status" + AFTER_CURSOR)
+    List<OrderSummaryView> findCafeOrderPageByStatus(@Param("cafeId") Long cafeId, @Param("status") String status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + ", ch.id AS chefId, ch.firstName AS chefFirstName, ch.lastName AS chefLastName, "
+            + "w.id AS waiterId, w.firstName AS waiterFirstName, w.lastName AS waiterLastName"
+            + SUMMARY_JOINS + " LEFT JOIN o.assignedChef ch LEFT JOIN o.assignedWaiter w"
+            + " WHERE c.id = :cafeId" + AFTER_CURSOR)
+    List<CafeOrderView> findCafeOrderPage(@Param("cafeId") Long cafeId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+
+    // Staff boards serialize whole orders; Order.BOARD_GRAPH fetches all of it in one query
+    @EntityGraph(Order.BOARD_GRAPH)
+    Optional<Order> findWithDetailsById(Long id);
+
+    @EntityGraph(Order.BOARD_GRAPH)
+    List<Order> findByCafeAndStatusIn(Cafe cafe, Collection<String> statuses);
+
+    @EntityGraph(Order.BOARD_GRAPH)
+    List<Order> findByCafeAndStatusAndAssignedWaiter(Cafe cafe, String status, User assignedWaiter);
 
     List<Order> findByCafeAndCreatedAtBetween(Cafe cafe, LocalDateTime start, LocalDateTime end);
 
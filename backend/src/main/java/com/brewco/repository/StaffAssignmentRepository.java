@@ -3,7 +3,12 @@ package com.brewco.repository;
 import com.brewco.entity.Cafe;
 import com.brewco.entity.StaffAssignment;
 import com.brewco.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,9 +18,18 @@ import java.util.Optional;
 public interface StaffAssignmentRepository extends JpaRepository<StaffAssignment, Long> {
     List<StaffAssignment> findByCafe(Cafe cafe);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<StaffAssignment> findByCafeAndIsActiveTrue(Cafe cafe);
 
     List<StaffAssignment> findByCafeAndRoleAndIsActiveTrue(Cafe cafe, String role);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<StaffAssignment> findByStaffAndIsActiveTrue(User staff);
+
+    @Query("SELECT sa.cafe.id FROM StaffAssignment sa WHERE sa.staff.id = :staffId AND sa.isActive = true")
+    List<Long> findActiveCafeIdsByStaffId(@Param("staffId") Long staffId);
+
+    long countByCafeAndIsActiveTrue(Cafe cafe);
+
+    long countByCafeAndRoleAndIsActiveTrue(Cafe cafe, String role);
 }
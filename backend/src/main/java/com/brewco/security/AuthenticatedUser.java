@@ -0,0 +1,90 @@
+package com.brewco.security;
+
+import com.brewco.entity.User;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal of a JWT-authenticated request. Built from the token's signed
+ * claims (uid, role, active), so resolving it needs no database read.
+ * authentication.getName() is still the email, as before. Immutable, so a
+ * verified token can share one instance across requests.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String role;
+    private final boolean active;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String email, String role, boolean active) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.active = active;
+        this.authorities = role != null
+                ? List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
+                : List.of();
+    }
+
+    public static AuthenticatedUser fromClaims(Claims claims) {
+        return new AuthenticatedUser(
+                claims.get(JwtUtil.CLAIM_USER_ID, Long.class),
+                claims.getSubject(),
+                claims.get(JwtUtil.CLAIM_ROLE, String.class),
+                Boolean.TRUE.equals(claims.get(JwtUtil.CLAIM_ACTIVE, Boolean.class)));
+    }
+
+    /** Tokens issued before the uid/role/active claims existed. */
+    public boolean hasClaims() {
+        return id != null && role != null;
+    }
+
+    public static AuthenticatedUser fromUser(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(),
+                Boolean.TRUE.equals(user.getIsActive()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return "";
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+}
@@ -0,0 +1,57 @@
+package com.brewco.security;
+
+import com.brewco.entity.User;
+import com.brewco.repository.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * The caller of a request, for controllers. Id and role come from the
+ * AuthenticatedUser principal's signed claims, so resolving the caller runs
+ * no query; only tokens issued before the uid claim fall back to a lookup by
+ * email until they expire.
+ */
+@Component
+public class CurrentUser {
+
+    private final UserRepository userRepository;
+
+    public CurrentUser(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public Long id(Authentication auth) {
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal && principal.hasClaims()) {
+            return principal.getId();
+        }
+        return legacyUser(auth).getId();
+    }
+
+    public String role(Authentication auth) {
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal && principal.hasClaims()) {
+            return principal.getRole();
+        }
+        return legacyUser(auth).getRole();
+    }
+
+    /**
+     * The caller as an entity reference, for associations and query
+     * parameters. Nothing is read until a property other than the id is
+     * used, and that needs the transaction the reference was taken in.
+     */
+    public User reference(Authentication auth) {
+        return userRepository.getReferenceById(id(auth));
+    }
+
+    /**
+     * The caller's row, for endpoints that change it or return or email the
+     * caller's profile. One primary-key read.
+     */
+    public User load(Authentication auth) throws Exception {
+        return userRepository.findById(id(auth)).orElseThrow(() -> new Exception("User not found"));
+    }
+
+    private User legacyUser(Authentication auth) {
+        return userRepository.findByEmail(auth.getName()).orElseThrow();
+    }
+}
@@ -19,10 +19,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService customUserDetailsService;
+    private final PrincipalCache principalCache;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, CustomUserDetailsService customUserDetailsService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, CustomUserDetailsService customUserDetailsService,
+            PrincipalCache principalCache) {
         this.jwtUtil = jwtUtil;
         this.customUserDetailsService = customUserDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -39,27 +42,22 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
         }
 
-        String username = null;
-        if (token != null) {
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                username = jwtUtil.extractUsername(token);
-            } catch (Exception e) {
-                // Invalid token
-            }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+                // Signature/expiry are checked once per token; the principal comes from the signed claims
+                AuthenticatedUser fromToken = jwtUtil.verify(token);
+                UserDetails userDetails = fromToken.hasClaims()
+                        ? principalCache.resolve(fromToken)
+                        : customUserDetailsService.loadUserByUsername(fromToken.getUsername()); // token issued before uid claims
 
-                if (jwtUtil.validateToken(token, userDetails)) {
+                if (userDetails.isEnabled()) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             } catch (Exception e) {
-                // User not found or other authentication issue — just continue without setting auth context
+                // Invalid/expired token or unknown user — just continue without setting auth context
             }
         }
 
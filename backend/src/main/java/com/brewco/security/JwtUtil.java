@@ -1,6 +1,8 @@
 package com.brewco.security;
 
+import com.brewco.util.TtlCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,6 +22,11 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
+    // Signed access-token claims that let JwtAuthFilter build the principal without a DB read
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_ACTIVE = "active";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -28,14 +36,45 @@ public class JwtUtil {
     @Value("${jwt.refresh-token-expiry}")
     private long refreshTokenExpiry;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
     private SecretKey key;
 
+    // JwtParser is immutable and thread-safe; build it once instead of per call
+    private JwtParser parser;
+
+    // Access token -> principal, kept until the token expires so repeat requests skip the HMAC check
+    private TtlCache<String, AuthenticatedUser> verifiedTokens;
+
     @PostConstruct
     public void init() {
         if (secret == null || secret.length() < 32) {
             throw new IllegalArgumentException("JWT secret cannot be null and must be at least 32 characters long.");
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = new TtlCache<>(verifiedCacheMaxSize, Duration.ofMillis(accessTokenExpiry));
+    }
+
+    /**
+     * Verifies an access token and returns its principal. The first request
+     * with a token parses it once (signature and expiry); later requests with
+     * the same token are served from the cache until it expires. Throws a
+     * JwtException if the token is invalid or expired.
+     */
+    public AuthenticatedUser verify(String token) {
+        AuthenticatedUser cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = extractAllClaims(token);
+        AuthenticatedUser principal = AuthenticatedUser.fromClaims(claims);
+        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+        if (remainingMs > 0) {
+            verifiedTokens.put(token, principal, Duration.ofMillis(remainingMs));
+        }
+        return principal;
     }
 
     public String extractUsername(String token) {
@@ -52,11 +91,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     private Boolean isTokenExpired(String token) {
@@ -70,6 +105,14 @@ public class JwtUtil {
         return createToken(claims, userDetails.getUsername(), accessTokenExpiry);
     }
 
+    public String generateToken(com.brewco.entity.User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().toUpperCase());
+        claims.put(CLAIM_ACTIVE, Boolean.TRUE.equals(user.getIsActive()));
+        return createToken(claims, user.getEmail(), accessTokenExpiry);
+    }
+
     public String generateRefreshToken(UserDetails userDetails) {
         return createToken(new HashMap<>(), userDetails.getUsername(), refreshTokenExpiry);
     }
@@ -85,8 +128,8 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
     }
 
     public Boolean validateToken(String token) {
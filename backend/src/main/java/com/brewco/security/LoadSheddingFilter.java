@@ -0,0 +1,123 @@
+package com.brewco.security;
+
+import com.brewco.util.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sheds load per route class before it reaches the connection pool.
+ *
+ * Each class (public reads, customer, staff boards, admin) has its own
+ * adaptive in-flight limit. A slow database therefore shrinks the limits
+ * and excess requests get an immediate 503 + Retry-After, instead of every
+ * Tomcat thread waiting out the Hikari timeout. Auth, registration,
+ * actuator and SSE streams are not limited.
+ *
+ * Runs after the Spring Security chain, so shed responses still carry CORS
+ * headers and anonymous traffic to protected routes is already rejected.
+ * Metrics: brewco.concurrency.limit / .in_flight gauges and
+ * brewco.concurrency.rejected counter, tagged by route.
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    enum RouteClass {
+        PUBLIC_READ(20, 4, 200),
+        CUSTOMER(20, 4, 200),
+        STAFF(20, 4, 200),
+        ADMIN(5, 2, 20);
+
+        final int initialLimit;
+        final int minLimit;
+        final int maxLimit;
+
+        RouteClass(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Map<RouteClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(RouteClass.class);
+
+    public LoadSheddingFilter(MeterRegistry meterRegistry) {
+        for (RouteClass routeClass : RouteClass.values()) {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    routeClass.initialLimit, routeClass.minLimit, routeClass.maxLimit);
+            limiters.put(routeClass, limiter);
+            String route = routeClass.name().toLowerCase();
+            Gauge.builder("brewco.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("route", route).register(meterRegistry);
+            Gauge.builder("brewco.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("route", route).register(meterRegistry);
+            FunctionCounter.builder("brewco.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .tag("route", route).register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteClass routeClass = classify(request);
+        if (routeClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.get(routeClass);
+        int inFlightAtStart = limiter.tryAcquire();
+        if (inFlightAtStart < 0) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"status\": 503, \"error\": \"Server is busy, please retry shortly\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            // Exceptions and async hand-offs say nothing about latency; just free the slot
+            boolean sample = !failed && !request.isAsyncStarted();
+            limiter.release(inFlightAtStart, sample ? System.nanoTime() - start : 0);
+        }
+    }
+
+    static RouteClass classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.endsWith("/stream")) {
+            return null; // long-lived SSE connections would pin slots and skew latency
+        }
+        if (uri.startsWith("/api/cafes/") || uri.equals("/api/cafes") || uri.startsWith("/api/public/")) {
+            return "GET".equals(request.getMethod()) ? RouteClass.PUBLIC_READ : null;
+        }
+        if (uri.startsWith("/api/customer/") || uri.startsWith("/api/payments/")) {
+            return RouteClass.CUSTOMER;
+        }
+        if (uri.startsWith("/api/chef/") || uri.startsWith("/api/waiter/")
+                || uri.startsWith("/api/cafe-owner/") || uri.startsWith("/api/owner/")) {
+            return RouteClass.STAFF;
+        }
+        if (uri.startsWith("/api/admin/")) {
+            return RouteClass.ADMIN;
+        }
+        return null;
+    }
+}
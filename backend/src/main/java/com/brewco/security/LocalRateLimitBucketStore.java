@@ -0,0 +1,85 @@
+package com.brewco.security;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-memory bucket store with a size cap and idle eviction.
+ *
+ * A bucket left idle for longer than every policy's refill window is full
+ * again, so dropping it after idleTtl changes nothing for that client. The
+ * idle TTL must therefore be at least the longest refill window. When the
+ * cap is hit, idle buckets go first and then arbitrary ones. Spoofed or
+ * rotating keys can cost memory up to the cap and no further.
+ */
+@Component
+public class LocalRateLimitBucketStore implements RateLimitBucketStore {
+
+    private final Map<String, Entry> buckets = new ConcurrentHashMap<>();
+
+    @Value("${rate-limit.store.max-buckets:100000}")
+    private int maxBuckets;
+
+    @Value("${rate-limit.store.idle-ttl-minutes:60}")
+    private long idleTtlMinutes;
+
+    @Override
+    public Bucket getBucket(String key, Supplier<BucketConfiguration> configuration) {
+        long now = System.nanoTime();
+        Entry entry = buckets.get(key);
+        if (entry == null || isIdle(entry, now)) {
+            entry = buckets.compute(key, (k, existing) ->
+                    existing != null && !isIdle(existing, now) ? existing : new Entry(build(configuration.get())));
+            if (buckets.size() > maxBuckets) {
+                evict(now);
+            }
+        }
+        entry.lastAccessNanos = now;
+        return entry.bucket;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private boolean isIdle(Entry entry, long now) {
+        return now - entry.lastAccessNanos > TimeUnit.MINUTES.toNanos(idleTtlMinutes);
+    }
+
+    private void evict(long now) {
+        buckets.values().removeIf(entry -> isIdle(entry, now));
+        // Still over the cap: shed down to 90% so we do not evict on every insert
+        Iterator<String> keys = buckets.keySet().iterator();
+        while (buckets.size() > maxBuckets * 9 / 10 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static Bucket build(BucketConfiguration configuration) {
+        LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+
+    private static final class Entry {
+        final Bucket bucket;
+        volatile long lastAccessNanos = System.nanoTime();
+
+        Entry(Bucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.brewco.security;
+
+import com.brewco.entity.User;
+import com.brewco.util.TtlCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Resolves request principals without touching the database.
+ *
+ * Normally the principal is the one JwtUtil built from the access token's
+ * signed claims. When an admin changes a user's account (approve, activate,
+ * deactivate, reject), AdminService calls {@link #update(User)}. That pins
+ * the user's current state for one access-token lifetime, so tokens issued
+ * before the change cannot keep claiming the old role or active flag until
+ * they expire.
+ *
+ * Overrides are local to the node that handled the admin change. Other nodes
+ * keep trusting the token's claims, so there a deactivated user keeps access,
+ * and a changed role keeps its old permissions, for up to one access-token
+ * lifetime.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${jwt.access-token-expiry}")
+    private long accessTokenExpiry;
+
+    private TtlCache<Long, AuthenticatedUser> overrides;
+
+    @PostConstruct
+    public void init() {
+        overrides = new TtlCache<>(maxSize, Duration.ofMillis(accessTokenExpiry));
+    }
+
+    public AuthenticatedUser resolve(AuthenticatedUser fromToken) {
+        AuthenticatedUser override = overrides.get(fromToken.getId());
+        return override != null ? override : fromToken;
+    }
+
+    /**
+     * Records the user's current state after an admin change; takes effect on
+     * the user's next request.
+     */
+    public void update(User user) {
+        overrides.put(user.getId(), AuthenticatedUser.fromUser(user));
+    }
+}
@@ -0,0 +1,21 @@
+package com.brewco.security;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+
+import java.util.function.Supplier;
+
+/**
+ * Where rate-limit buckets live. Shaped like Bucket4j's ProxyManager
+ * (key + lazily supplied configuration), so a shared store (JCache, Redis,
+ * JDBC) can later be dropped in by wrapping a ProxyManager:
+ * {@code proxyManager.builder().build(key, configuration)}.
+ */
+public interface RateLimitBucketStore {
+
+    /**
+     * Returns the bucket for the key, creating it from the configuration on
+     * first use.
+     */
+    Bucket getBucket(String key, Supplier<BucketConfiguration> configuration);
+}
@@ -1,74 +1,118 @@
 package com.brewco.security;
 
 import com.brewco.exception.RateLimitException;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import io.github.bucket4j.ConsumptionProbe;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class RateLimitInterceptor implements HandlerInterceptor {
 
-    private final Map<String, Bucket> loginBuckets = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> registerBuckets = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> otpBuckets = new ConcurrentHashMap<>();
+    /**
+     * Rate-limit table; the first matching row applies. Windows must stay within
+     * rate-limit.store.idle-ttl-minutes (see LocalRateLimitBucketStore).
+     */
+    static final List<RateLimitPolicy> POLICIES = List.of(
+            new RateLimitPolicy("login", "POST", "/api/auth/login", RateLimitPolicy.KeyType.IP,
+                    5, Duration.ofMinutes(15), "Too many login attempts. Try again in 15 minutes."),
+            new RateLimitPolicy("register", null, "/api/auth/register/**", RateLimitPolicy.KeyType.IP,
+                    10, Duration.ofHours(1), "Too many registration attempts. Try again in 1 hour."),
+            new RateLimitPolicy("otp", null, "/api/auth/send-otp", RateLimitPolicy.KeyType.IP,
+                    3, Duration.ofMinutes(10), "Too many OTP requests. Try again in 10 minutes."),
+            new RateLimitPolicy("otp", null, "/api/auth/resend-otp", RateLimitPolicy.KeyType.IP,
+                    3, Duration.ofMinutes(10), "Too many OTP requests. Try again in 10 minutes."),
+            new RateLimitPolicy("place-order", "POST", "/api/customer/orders", RateLimitPolicy.KeyType.USER,
+                    10, Duration.ofMinutes(1), "Too many orders placed. Please wait a minute."),
+            new RateLimitPolicy("customer-orders", null, "/api/customer/orders/**", RateLimitPolicy.KeyType.USER,
+                    120, Duration.ofMinutes(1), "Too many requests. Please slow down."),
+            new RateLimitPolicy("payments", null, "/api/payments/**", RateLimitPolicy.KeyType.USER,
+                    30, Duration.ofMinutes(1), "Too many payment requests. Please wait a minute."),
+            new RateLimitPolicy("public-cafes", "GET", "/api/cafes/**", RateLimitPolicy.KeyType.IP,
+                    300, Duration.ofMinutes(1), "Too many requests. Please slow down."));
+
+    private final RateLimitBucketStore bucketStore;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /** Proxies whose X-Forwarded-For is believed; anyone else is keyed by their own address. */
+    @Value("${rate-limit.trusted-proxies:}")
+    private Set<String> trustedProxies = Set.of();
+
+    public RateLimitInterceptor(RateLimitBucketStore bucketStore) {
+        this.bucketStore = bucketStore;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        String uri = request.getRequestURI();
-        String ip = getClientIP(request);
-
-        if (uri.equals("/api/auth/login")) {
-            Bucket bucket = loginBuckets.computeIfAbsent(ip, k -> createLoginBucket());
-            if (!bucket.tryConsume(1)) {
-                throw new RateLimitException("Too many login attempts. Try again in 15 minutes.");
-            }
-        } else if (uri.startsWith("/api/auth/register")) {
-            Bucket bucket = registerBuckets.computeIfAbsent(ip, k -> createRegisterBucket());
-            if (!bucket.tryConsume(1)) {
-                throw new RateLimitException("Too many registration attempts. Try again in 1 hour.");
-            }
-        } else if (uri.equals("/api/auth/send-otp") || uri.equals("/api/auth/resend-otp")) {
-            // For OTP, we might limit by email, but IP is also good for brute force
-            Bucket bucket = otpBuckets.computeIfAbsent(ip, k -> createOtpBucket());
-            if (!bucket.tryConsume(1)) {
-                throw new RateLimitException("Too many OTP requests. Try again in 10 minutes.");
-            }
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true; // already counted when the SSE stream was opened
+        }
+        RateLimitPolicy policy = findPolicy(request);
+        if (policy == null) {
+            return true;
         }
 
+        String key = policy.name() + ":" + resolveSubject(policy, request);
+        ConsumptionProbe probe = bucketStore.getBucket(key, policy::toConfiguration).tryConsumeAndReturnRemaining(1);
+        if (!probe.isConsumed()) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()));
+            throw new RateLimitException(policy.message(), retryAfterSeconds);
+        }
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.getRemainingTokens()));
         return true;
     }
 
-    private Bucket createLoginBucket() {
-        return Bucket.builder()
-                .addLimit(Bandwidth.classic(5, Refill.intervally(5, Duration.ofMinutes(15))))
-                .build();
-    }
-
-    private Bucket createRegisterBucket() {
-        return Bucket.builder()
-                .addLimit(Bandwidth.classic(10, Refill.intervally(10, Duration.ofHours(1))))
-                .build();
+    private RateLimitPolicy findPolicy(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        for (RateLimitPolicy policy : POLICIES) {
+            if ((policy.method() == null || policy.method().equals(request.getMethod()))
+                    && pathMatcher.match(policy.pathPattern(), uri)) {
+                return policy;
+            }
+        }
+        return null;
     }
 
-    private Bucket createOtpBucket() {
-        return Bucket.builder()
-                .addLimit(Bandwidth.classic(3, Refill.intervally(3, Duration.ofMinutes(10))))
-                .build();
+    private String resolveSubject(RateLimitPolicy policy, HttpServletRequest request) {
+        if (policy.keyType() == RateLimitPolicy.KeyType.USER) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user && user.getId() != null) {
+                return "user:" + user.getId();
+            }
+        }
+        return "ip:" + getClientIP(request);
     }
 
+    /**
+     * The connecting address, unless that is one of our trusted proxies: then
+     * the nearest X-Forwarded-For hop not added by a trusted proxy. Entries to
+     * its left are client-controlled and never used, so rotating them does not
+     * buy a fresh bucket.
+     */
     private String getClientIP(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
         String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null) {
-            return request.getRemoteAddr();
+        if (!trustedProxies.contains(remoteAddr) || xfHeader == null || xfHeader.isBlank()) {
+            return remoteAddr;
+        }
+        String[] hops = xfHeader.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+                return hop;
+            }
         }
-        return xfHeader.split(",")[0];
+        return remoteAddr;
     }
 }
@@ -0,0 +1,29 @@
+package com.brewco.security;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.Refill;
+
+import java.time.Duration;
+
+/**
+ * One row of the rate-limit table: which requests it covers (HTTP method,
+ * or null for any, plus an Ant-style path pattern), what it counts them per
+ * (client IP or authenticated user), and how many it allows per window.
+ */
+public record RateLimitPolicy(String name, String method, String pathPattern, KeyType keyType,
+        long capacity, Duration window, String message) {
+
+    public enum KeyType {
+        /** Per client IP — for anonymous endpoints. */
+        IP,
+        /** Per authenticated user id; falls back to IP for anonymous callers. */
+        USER
+    }
+
+    public BucketConfiguration toConfiguration() {
+        return BucketConfiguration.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.intervally(capacity, window)))
+                .build();
+    }
+}
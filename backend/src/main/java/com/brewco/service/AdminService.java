@@ -10,9 +10,11 @@ import com.brewco.repository.GovernmentProofRepository;
 import com.brewco.repository.OrderRepository;
 import com.brewco.repository.UserRepository;
 import com.brewco.repository.WorkExperienceRepository;
+import com.brewco.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
@@ -46,7 +48,11 @@ public class AdminService {
     @Autowired
     private CafeTableRepository cafeTableRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     // Dashboard statistics
+    @Transactional(readOnly = true)
     public Map<String, Object> getDashboardStats() {
         Map<String, Object> stats = new HashMap<>();
 
@@ -86,6 +92,7 @@ public class AdminService {
     }
 
     // All users (simplified DTO)
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getAllUsers() {
         return userRepository.findAllByOrderByCreatedAtDesc()
                 .stream()
@@ -94,6 +101,7 @@ public class AdminService {
     }
 
     // Pending users (isActive = false, excluding admins)
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getPendingUsers() {
         return userRepository.findByIsActiveFalseOrderByCreatedAtDesc()
                 .stream()
@@ -102,6 +110,7 @@ public class AdminService {
     }
 
     // Full user details with related entities
+    @Transactional(readOnly = true)
     public Map<String, Object> getUserFullDetails(Long userId) throws Exception {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new Exception("User not found"));
@@ -166,6 +175,7 @@ public class AdminService {
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        principalCache.update(user);
 
         // Send email with credentials
         emailService.sendApprovalEmail(user.getEmail(), user.getFirstName(), randomPassword);
@@ -188,6 +198,8 @@ public class AdminService {
 
         // CascadeType.ALL + orphanRemoval=true handles child entity cleanup
         userRepository.delete(user);
+        user.setIsActive(false);
+        principalCache.update(user);
 
         // Send rejection email
         emailService.sendRejectionEmail(email, firstName);
@@ -200,6 +212,7 @@ public class AdminService {
         user.setIsActive(false);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        principalCache.update(user);
     }
 
     // Activate user — if user has no password (first-time), generate one and send
@@ -219,6 +232,7 @@ public class AdminService {
             user.setIsActive(true);
             user.setUpdatedAt(LocalDateTime.now());
             userRepository.save(user);
+            principalCache.update(user);
 
             // Send email with credentials
             emailService.sendApprovalEmail(user.getEmail(), user.getFirstName(), randomPassword);
@@ -230,6 +244,7 @@ public class AdminService {
             user.setIsActive(true);
             user.setUpdatedAt(LocalDateTime.now());
             userRepository.save(user);
+            principalCache.update(user);
 
             result.put("message", "User reactivated successfully");
         }
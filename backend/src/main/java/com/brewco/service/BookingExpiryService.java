@@ -0,0 +1,161 @@
+package com.brewco.service;
+
+import com.brewco.dto.BookingDueView;
+import com.brewco.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Ends bookings nobody is going to act on:
+ * - PENDING bookings the owner has not answered within
+ *   booking.expiry.pending-timeout-minutes, or whose slot has already
+ *   started, become EXPIRED and their PENDING_BOOKING order is cancelled;
+ * - CONFIRMED bookings become COMPLETED, and their table AVAILABLE again,
+ *   once their slot ended booking.expiry.release-grace-minutes ago.
+ *
+ * Due bookings are read in batches from the (status, booking_date,
+ * start_time) index, soonest first, so a run only touches rows that are
+ * due. Each booking is handled in its own transaction; one that an owner
+ * changed in the meantime is skipped, not overwritten. Runs through
+ * JobRunner, so with several nodes only one of them expires bookings at a
+ * time.
+ *
+ * Each of the two reads keeps a keyset position on (booking_date,
+ * start_time, id) across chunks and runs, so bookings that were skipped or
+ * keep failing are passed over instead of being read again and holding up
+ * the ones behind them. When a read reaches the end it starts over from the
+ * beginning, which retries them on the next pass.
+ */
+@Service
+public class BookingExpiryService implements ClusterJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingExpiryService.class);
+
+    @Value("${booking.expiry.pending-timeout-minutes:1440}")
+    private long pendingTimeoutMinutes;
+
+    @Value("${booking.expiry.release-grace-minutes:30}")
+    private long releaseGraceMinutes;
+
+    @Value("${booking.expiry.batch-size:100}")
+    private int batchSize;
+
+    @Value("${booking.expiry.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${booking.expiry.interval-ms:60000}")
+    private long intervalMs;
+
+    @Value("${booking.expiry.initial-delay-ms:30000}")
+    private long initialDelayMs;
+
+    @Value("${booking.expiry.max-run-minutes:5}")
+    private long maxRunMinutes;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    // Only touched by the run holding this job's lease
+    private volatile SlotKey pendingAfter = SlotKey.START;
+    private volatile SlotKey confirmedAfter = SlotKey.START;
+
+    @Override
+    public String getName() {
+        return "booking-expiry";
+    }
+
+    @Override
+    public Duration getInterval() {
+        return Duration.ofMillis(intervalMs);
+    }
+
+    @Override
+    public Duration getInitialDelay() {
+        return Duration.ofMillis(initialDelayMs);
+    }
+
+    @Override
+    public Duration getMaxRunTime() {
+        return Duration.ofMinutes(maxRunMinutes);
+    }
+
+    @Override
+    public int getMaxChunksPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    /** One batch of due PENDING bookings, or of finished CONFIRMED ones once no PENDING batch is left. */
+    @Override
+    public int processChunk() {
+        int handled = expirePendingBatch();
+        return handled > 0 ? handled : completeFinishedBatch();
+    }
+
+    private int expirePendingBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        SlotKey after = pendingAfter;
+        List<BookingDueView> batch = bookingRepository.findExpiredPending(now.minusMinutes(pendingTimeoutMinutes),
+                now.toLocalDate(), now.toLocalTime(), after.date(), after.time(), after.id(),
+                PageRequest.of(0, batchSize));
+        pendingAfter = nextPosition(batch);
+        return handleBatch(batch, bookingService::expirePendingBooking);
+    }
+
+    private int completeFinishedBatch() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(releaseGraceMinutes);
+        SlotKey after = confirmedAfter;
+        List<BookingDueView> batch = bookingRepository.findFinishedConfirmed(cutoff.toLocalDate(),
+                cutoff.toLocalTime(), after.date(), after.time(), after.id(), PageRequest.of(0, batchSize));
+        confirmedAfter = nextPosition(batch);
+        return handleBatch(batch, bookingService::completeFinishedBooking);
+    }
+
+    /** After the batch's last row, or back to the start once a read comes up short. */
+    private SlotKey nextPosition(List<BookingDueView> batch) {
+        if (batch.size() < batchSize) {
+            return SlotKey.START;
+        }
+        BookingDueView last = batch.get(batch.size() - 1);
+        return new SlotKey(last.getBookingDate(), last.getStartTime(), last.getId());
+    }
+
+    /**
+     * Returns how many bookings were changed. false from the handler means
+     * the booking was answered meanwhile and left alone; an exception is
+     * logged and the booking is retried on the next pass.
+     */
+    private int handleBatch(List<BookingDueView> batch, Predicate<Long> handler) {
+        int handled = 0;
+        for (BookingDueView booking : batch) {
+            try {
+                if (handler.test(booking.getId())) {
+                    handled++;
+                }
+            } catch (Exception e) {
+                log.warn("Booking expiry failed on booking [id={}], moving past it: {}", booking.getId(), e.getMessage());
+            }
+        }
+        return handled;
+    }
+
+    /** A position in (booking_date, start_time, id) order. */
+    private record SlotKey(LocalDate date, LocalTime time, Long id) {
+
+        /** Sorts before every real row (MySQL dates start at 1000-01-01). */
+        static final SlotKey START = new SlotKey(LocalDate.of(1000, 1, 1), LocalTime.MIN, 0L);
+    }
+}
@@ -2,11 +2,14 @@ package com.brewco.service;
 
 import com.brewco.entity.Booking;
 import com.brewco.entity.Cafe;
+import com.brewco.entity.CafeTable;
 import com.brewco.entity.User;
 import com.brewco.repository.BookingRepository;
+import com.brewco.repository.OrderRepository;
 import com.brewco.util.ReferenceGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,33 +23,119 @@ public class BookingService {
     @Autowired
     private ReferenceGenerator referenceGenerator;
 
+    @Autowired
+    private TableAvailabilityService tableAvailabilityService;
+
+    @Autowired
+    private TableService tableService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    /** Customer booking; fails with BookingConflictException if the table is taken for that slot. */
+    @Transactional
     public Booking makeBooking(Booking booking) {
         booking.setBookingRef(referenceGenerator.generateBookingReference());
         booking.setStatus("PENDING");
-        return bookingRepository.save(booking);
+        tableAvailabilityService.reserve(booking);
+        Booking saved = bookingRepository.save(booking);
+        tableAvailabilityService.refresh(saved);
+        return saved;
     }
 
+    @Transactional
     public Booking createBooking(Booking booking) {
         if (booking.getBookingRef() == null) {
             booking.setBookingRef(referenceGenerator.generateBookingReference());
         }
-        return bookingRepository.save(booking);
+        tableAvailabilityService.reserve(booking);
+        Booking saved = bookingRepository.save(booking);
+        tableAvailabilityService.refresh(saved);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<Booking> getCustomerBookings(User customer) {
         return bookingRepository.findByCustomer(customer);
     }
 
+    @Transactional(readOnly = true)
     public List<Booking> getCafeBookings(Cafe cafe) {
         return bookingRepository.findByCafe(cafe);
     }
 
+    @Transactional(readOnly = true)
+    public long countCafeBookings(Cafe cafe) {
+        return bookingRepository.countByCafe(cafe);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Booking> getBookingById(Long id) {
         return bookingRepository.findById(id);
     }
 
+    /**
+     * Confirming holds the table's booking lock until the caller's transaction
+     * ends. Moving a released booking back to PENDING/CONFIRMED also re-checks
+     * its table like a new booking.
+     */
+    @Transactional
     public Booking updateBookingStatus(Booking booking, String newStatus) {
+        boolean wasHolding = TableAvailabilityService.HOLDING_STATUSES.contains(booking.getStatus());
+        if (booking.getTable() != null && TableAvailabilityService.HOLDING_STATUSES.contains(newStatus)) {
+            // Confirmation: serialized with bookings being created for the same table and day
+            tableAvailabilityService.lockTableDay(booking.getTable().getId(), booking.getBookingDate());
+        }
         booking.setStatus(newStatus);
-        return bookingRepository.save(booking);
+        if (!wasHolding) {
+            tableAvailabilityService.reserve(booking);
+        }
+        // Flushed here so a lost race surfaces to the caller as an optimistic-lock conflict (409)
+        Booking saved = bookingRepository.saveAndFlush(booking);
+        tableAvailabilityService.refresh(saved);
+        return saved;
+    }
+
+    /**
+     * EXPIRED for a booking still PENDING, and its PENDING_BOOKING order is
+     * cancelled with it. Returns false if the booking was answered meanwhile.
+     */
+    @Transactional
+    public boolean expirePendingBooking(Long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null || !"PENDING".equals(booking.getStatus())) {
+            return false;
+        }
+        updateBookingStatus(booking, "EXPIRED");
+        orderRepository.findByBooking(booking).ifPresent(order -> {
+            if ("PENDING_BOOKING".equals(order.getStatus())) {
+                // No user acts here; the history row records the cafe owner, on whose behalf it expired
+                orderService.updateOrderStatus(order, "CANCELLED", booking.getCafe().getOwner(),
+                        "Booking expired without a response — order cancelled");
+            }
+        });
+        return true;
+    }
+
+    /**
+     * COMPLETED for a CONFIRMED booking whose slot is over, freeing its table
+     * as marking it COMPLETED by hand does. Returns false if it is no longer CONFIRMED.
+     */
+    @Transactional
+    public boolean completeFinishedBooking(Long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null || !"CONFIRMED".equals(booking.getStatus())) {
+            return false;
+        }
+        updateBookingStatus(booking, "COMPLETED");
+        CafeTable table = booking.getTable();
+        if (table != null && "OCCUPIED".equals(table.getStatus())) {
+            table.setStatus("AVAILABLE");
+            tableService.updateTable(table);
+        }
+        return true;
     }
 }
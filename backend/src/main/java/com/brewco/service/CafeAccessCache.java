@@ -0,0 +1,76 @@
+package com.brewco.service;
+
+import com.brewco.repository.CafeRepository;
+import com.brewco.repository.StaffAssignmentRepository;
+import com.brewco.util.TtlCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Which cafes each user may manage: the cafes a CAFE_OWNER owns, or the one
+ * cafe a CHEF/WAITER is actively assigned to. Lets CafeOwnerController check
+ * access per request without querying users, cafes or assignments.
+ *
+ * CafeService (create/delete cafe) and StaffService (assign/deactivate)
+ * evict entries after their transaction commits. The TTL is only a backstop
+ * for changes made outside those services.
+ */
+@Component
+public class CafeAccessCache {
+
+    @Value("${security.cafe-access-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${security.cafe-access-cache.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Autowired
+    private CafeRepository cafeRepository;
+
+    @Autowired
+    private StaffAssignmentRepository staffAssignmentRepository;
+
+    private TtlCache<Long, Set<Long>> cafeIdsByUser;
+
+    @PostConstruct
+    public void init() {
+        cafeIdsByUser = new TtlCache<>(maxSize, Duration.ofMinutes(ttlMinutes));
+    }
+
+    /** Owned cafe ids for CAFE_OWNER, otherwise the active assignment's cafe id (or none). */
+    public Set<Long> getCafeIds(Long userId, String role) {
+        return cafeIdsByUser.getOrLoad(userId, id -> "CAFE_OWNER".equals(role)
+                ? Set.copyOf(cafeRepository.findIdsByOwnerId(id))
+                : Set.copyOf(staffAssignmentRepository.findActiveCafeIdsByStaffId(id)));
+    }
+
+    /** The user gained or lost a cafe (new cafe, staff assigned or deactivated). */
+    public void evict(Long userId) {
+        afterCommit(() -> cafeIdsByUser.invalidate(userId));
+    }
+
+    /** A cafe was deleted; its owner and any staff may still list it. */
+    public void evictAll() {
+        afterCommit(cafeIdsByUser::invalidateAll);
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.brewco.entity.User;
 import com.brewco.repository.CafeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,28 +16,58 @@ public class CafeService {
     @Autowired
     private CafeRepository cafeRepository;
 
+    @Autowired
+    private PublicCatalogCache catalogCache;
+
+    @Autowired
+    private CafeAccessCache cafeAccessCache;
+
     public Cafe createCafe(Cafe cafe) {
         cafe.setIsVerified(false);
         cafe.setIsActive(true);
-        return cafeRepository.save(cafe);
+        Cafe saved = cafeRepository.save(cafe);
+        cafeAccessCache.evict(saved.getOwner().getId());
+        return saved;
     }
 
     public Cafe updateCafe(Cafe cafe) {
-        return cafeRepository.save(cafe);
+        Cafe saved = cafeRepository.save(cafe);
+        catalogCache.evictCafe(saved.getId());
+        return saved;
     }
 
+    public void deleteCafe(Long id) {
+        cafeRepository.deleteById(id);
+        catalogCache.evictAll(id);
+        cafeAccessCache.evictAll();
+    }
+
+    /** Cached; shared by all callers, so treat the list and its cafes as read-only. */
+    @Transactional(readOnly = true)
     public List<Cafe> getAllVerifiedCafes() {
-        return cafeRepository.findByIsVerifiedTrueAndIsActiveTrue();
+        return catalogCache.getVerifiedCafes(key -> cafeRepository.findByIsVerifiedTrueAndIsActiveTrue());
     }
 
+    @Transactional(readOnly = true)
     public List<Cafe> getCafesByOwner(User owner) {
         return cafeRepository.findByOwner(owner);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Cafe> getCafeById(Long id) {
         return cafeRepository.findById(id);
     }
 
+    /**
+     * Cached read-only lookup for the public endpoints. Use getCafeById when
+     * the cafe is going to be modified or attached to new rows.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Cafe> getPublicCafe(Long id) {
+        return Optional.ofNullable(catalogCache.getCafe(id, key -> cafeRepository.findById(key).orElse(null)));
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Cafe> getCafeByIdAndOwner(Long id, User owner) {
         return cafeRepository.findByIdAndOwner(id, owner);
     }
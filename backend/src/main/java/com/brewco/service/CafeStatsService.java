@@ -0,0 +1,101 @@
+package com.brewco.service;
+
+import com.brewco.entity.Cafe;
+import com.brewco.entity.CafeDailyStats;
+import com.brewco.entity.CafeStatusTotal;
+import com.brewco.entity.Order;
+import com.brewco.repository.CafeDailyStatsRepository;
+import com.brewco.repository.CafeStatusTotalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incrementally maintained order aggregates for the cafe owner dashboard.
+ *
+ * OrderService calls in here inside the same transaction as every placement
+ * and status transition, so the aggregates commit or roll back with the order.
+ * Reading the dashboard is then a handful of rows per cafe instead of a scan
+ * of its whole order history. Existing orders are backfilled by the V4 migration.
+ */
+@Service
+public class CafeStatsService {
+
+    @Autowired
+    private CafeStatusTotalRepository cafeStatusTotalRepository;
+
+    @Autowired
+    private CafeDailyStatsRepository cafeDailyStatsRepository;
+
+    @Transactional
+    public void recordOrderPlaced(Order order) {
+        Long cafeId = order.getCafe().getId();
+        cafeStatusTotalRepository.applyDelta(cafeId, order.getStatus(), 1, amountOf(order));
+        cafeDailyStatsRepository.applyDelta(cafeId, createdDate(order), 1, 0, BigDecimal.ZERO);
+    }
+
+    @Transactional
+    public void recordStatusChange(Order order, String previousStatus, String newStatus) {
+        if (previousStatus == null || previousStatus.equals(newStatus)) {
+            return;
+        }
+        Long cafeId = order.getCafe().getId();
+        BigDecimal amount = amountOf(order);
+        cafeStatusTotalRepository.applyDelta(cafeId, previousStatus, -1, amount.negate());
+        cafeStatusTotalRepository.applyDelta(cafeId, newStatus, 1, amount);
+
+        if ("DELIVERED".equals(newStatus)) {
+            cafeDailyStatsRepository.applyDelta(cafeId, createdDate(order), 0, 1, amount);
+        } else if ("DELIVERED".equals(previousStatus)) {
+            cafeDailyStatsRepository.applyDelta(cafeId, createdDate(order), 0, -1, amount.negate());
+        }
+    }
+
+    /**
+     * Order figures for the owner dashboard, read from the aggregates.
+     */
+    public Map<String, Object> getOrderStats(Cafe cafe) {
+        Map<String, Long> counts = new HashMap<>();
+        long totalOrders = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        List<CafeStatusTotal> totals = cafeStatusTotalRepository.findByCafeId(cafe.getId());
+        for (CafeStatusTotal total : totals) {
+            counts.put(total.getStatus(), total.getOrderCount());
+            totalOrders += total.getOrderCount();
+            if ("DELIVERED".equals(total.getStatus())) {
+                totalRevenue = total.getTotalAmount();
+            }
+        }
+
+        CafeDailyStats today = cafeDailyStatsRepository.findByCafeIdAndStatsDate(cafe.getId(), LocalDate.now())
+                .orElseGet(CafeDailyStats::new);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalOrders", totalOrders);
+        stats.put("pendingOrders", counts.getOrDefault("PLACED", 0L));
+        stats.put("confirmedOrders", counts.getOrDefault("CONFIRMED", 0L));
+        stats.put("preparingOrders",
+                counts.getOrDefault("SENT_TO_KITCHEN", 0L) + counts.getOrDefault("PREPARING", 0L));
+        stats.put("readyOrders", counts.getOrDefault("READY", 0L));
+        stats.put("deliveredOrders", counts.getOrDefault("DELIVERED", 0L));
+        stats.put("totalRevenue", totalRevenue);
+        stats.put("todayRevenue", today.getDeliveredRevenue());
+        stats.put("todayOrders", today.getOrdersPlaced());
+        return stats;
+    }
+
+    private BigDecimal amountOf(Order order) {
+        return order.getGrandTotal() != null ? order.getGrandTotal() : BigDecimal.ZERO;
+    }
+
+    private LocalDate createdDate(Order order) {
+        return order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.now();
+    }
+}
@@ -0,0 +1,35 @@
+package com.brewco.service;
+
+import java.time.Duration;
+
+/**
+ * A background job that JobRunner schedules on every node but runs on only
+ * one node at a time, guarded by a row in job_leases.
+ *
+ * Work is done in chunks: JobRunner calls processChunk() until it returns 0,
+ * getMaxChunksPerRun() is reached, or most of getMaxRunTime() is used up.
+ * A chunk should be small and commit its own work, so a run that stops
+ * early (or a node that dies) leaves nothing half done.
+ */
+public interface ClusterJob {
+
+    /** Unique job name; also the lease key and the metrics tag. */
+    String getName();
+
+    /** Delay between the end of one scheduled run and the start of the next. */
+    Duration getInterval();
+
+    default Duration getInitialDelay() {
+        return getInterval();
+    }
+
+    /** How long a run may hold the lease. Another node takes over after this if the owner dies. */
+    Duration getMaxRunTime();
+
+    default int getMaxChunksPerRun() {
+        return 20;
+    }
+
+    /** Handles the next chunk of due work; returns how many items it handled, 0 when nothing is due. */
+    int processChunk();
+}
@@ -0,0 +1,167 @@
+package com.brewco.service;
+
+import com.brewco.entity.EmailOutbox;
+import com.brewco.repository.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers rows from the email outbox.
+ *
+ * New rows are handed to a bounded worker pool right after their transaction
+ * commits. Failed sends are retried with exponential backoff until
+ * maxAttempts, then parked as DEAD. A periodic sweep picks up retries, rows
+ * the pool was too busy to accept, and rows orphaned by a crash.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final int SWEEP_BATCH_SIZE = 50;
+    private static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+    private static final long STUCK_AFTER_MINUTES = 5;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private ResendClient resendClient;
+
+    @Value("${email.outbox.workers:4}")
+    private int workers;
+
+    @Value("${email.outbox.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.sweep-interval-seconds:30}")
+    private long sweepIntervalSeconds;
+
+    private ThreadPoolExecutor workerPool;
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        workerPool = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "email-outbox-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "email-outbox-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Schedules delivery once the surrounding transaction commits (or right away
+     * if there is none). A rolled-back transaction never sends its emails.
+     */
+    public void dispatchAfterCommit(Long outboxId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(outboxId);
+                }
+            });
+        } else {
+            dispatch(outboxId);
+        }
+    }
+
+    private void dispatch(Long outboxId) {
+        try {
+            workerPool.execute(() -> deliver(outboxId));
+        } catch (RejectedExecutionException e) {
+            // Pool is saturated — the row stays PENDING and the sweep will pick it up
+            log.warn("Email outbox pool full, deferring email [id={}] to next sweep", outboxId);
+        }
+    }
+
+    void sweep() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int released = emailOutboxRepository.releaseStuck(now.minusMinutes(STUCK_AFTER_MINUTES));
+            if (released > 0) {
+                log.warn("Released {} stuck outbox emails back to PENDING", released);
+            }
+            int room = workerPool.getQueue().remainingCapacity();
+            if (room <= 0) {
+                return;
+            }
+            List<Long> due = emailOutboxRepository.findDueIds(now,
+                    PageRequest.of(0, Math.min(room, SWEEP_BATCH_SIZE)));
+            due.forEach(this::dispatch);
+        } catch (Exception e) {
+            log.error("Email outbox sweep failed", e);
+        }
+    }
+
+    private void deliver(Long outboxId) {
+        if (emailOutboxRepository.claim(outboxId, LocalDateTime.now()) == 0) {
+            return; // already claimed by another worker or no longer pending
+        }
+        EmailOutbox email = emailOutboxRepository.findById(outboxId).orElse(null);
+        if (email == null) {
+            return;
+        }
+
+        email.setAttempts(email.getAttempts() + 1);
+        try {
+            resendClient.send(email.getToEmail(), email.getSubject(), email.getHtml());
+            email.setStatus("SENT");
+            email.setSentAt(LocalDateTime.now());
+            email.setLastError(null);
+            email.setHtml(null);
+            log.info("Email [id={}] sent to {} on attempt {}", email.getId(), email.getToEmail(), email.getAttempts());
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            email.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (email.getAttempts() >= maxAttempts) {
+                email.setStatus("DEAD");
+                log.error("Email [id={}] to {} dead-lettered after {} attempts: {}",
+                        email.getId(), email.getToEmail(), email.getAttempts(), error);
+            } else {
+                long backoff = Math.min(BASE_BACKOFF_SECONDS << (email.getAttempts() - 1), MAX_BACKOFF_SECONDS);
+                email.setStatus("PENDING");
+                email.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+                log.warn("Email [id={}] to {} failed (attempt {}), retrying in {}s: {}",
+                        email.getId(), email.getToEmail(), email.getAttempts(), backoff, error);
+            }
+        }
+        emailOutboxRepository.save(email);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+        workerPool.shutdown();
+    }
+}
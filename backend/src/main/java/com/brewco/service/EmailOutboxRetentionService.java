@@ -0,0 +1,58 @@
+package com.brewco.service;
+
+import com.brewco.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes finished outbox rows (SENT, or DEAD after their last retry) once
+ * email.outbox.retention-days have passed since their last attempt, so the
+ * table does not grow with every email ever sent. Runs through JobRunner,
+ * one batch of ids per chunk.
+ */
+@Service
+public class EmailOutboxRetentionService implements ClusterJob {
+
+    @Value("${email.outbox.retention-days:30}")
+    private long retentionDays;
+
+    @Value("${email.outbox.retention-batch-size:500}")
+    private int batchSize;
+
+    @Value("${email.outbox.retention-interval-minutes:60}")
+    private long intervalMinutes;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Override
+    public String getName() {
+        return "email-outbox-retention";
+    }
+
+    @Override
+    public Duration getInterval() {
+        return Duration.ofMinutes(intervalMinutes);
+    }
+
+    @Override
+    public Duration getMaxRunTime() {
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    public int processChunk() {
+        List<Long> ids = emailOutboxRepository.findFinishedIdsBefore(
+                LocalDateTime.now().minusDays(retentionDays), PageRequest.of(0, batchSize));
+        if (!ids.isEmpty()) {
+            emailOutboxRepository.deleteAllByIdInBatch(ids);
+        }
+        return ids.size();
+    }
+}
@@ -1,57 +1,52 @@
 package com.brewco.service;
 
+import com.brewco.entity.EmailOutbox;
+import com.brewco.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-
-import java.util.List;
-import java.util.Map;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Builds the transactional emails. Nothing is sent inline: each email is
+ * written to the outbox in the caller's transaction and delivered by
+ * EmailOutboxDispatcher once that transaction commits.
+ */
 @Service
 public class EmailService {
 
-    @Value("${resend.api-key:}")
-    private String resendApiKey;
-
-    @Value("${resend.from:onboarding@resend.dev}")
-    private String fromEmail;
-
     @Value("${frontend.url:http://localhost:5173}")
     private String frontendUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private ResendClient resendClient;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
 
     private boolean isConfigured() {
-        return resendApiKey != null && !resendApiKey.isBlank();
+        return resendClient.isConfigured();
     }
 
-    private void send(String to, String subject, String html) {
+    /**
+     * Queues an email for delivery. Joins the caller's transaction if there is
+     * one, so the email only goes out if that transaction commits.
+     */
+    @Transactional
+    public void queueEmail(String to, String subject, String html) {
         if (!isConfigured()) {
             System.out.println("⚠ RESEND_API_KEY not set — skipping email to: " + to);
             return;
         }
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(resendApiKey);
-
-            Map<String, Object> body = Map.of(
-                    "from", fromEmail,
-                    "to", List.of(to),
-                    "subject", subject,
-                    "html", html
-            );
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-            ResponseEntity<String> resp = restTemplate.postForEntity(
-                    "https://api.resend.com/emails", request, String.class);
-
-            System.out.println("✅ Email sent to " + to + " | status=" + resp.getStatusCode());
-        } catch (Exception e) {
-            System.err.println("❌ Resend email failed to " + to + ": " + e.getMessage());
-            e.printStackTrace();
-        }
+        EmailOutbox email = new EmailOutbox();
+        email.setToEmail(to);
+        email.setSubject(subject);
+        email.setHtml(html);
+        email = emailOutboxRepository.save(email);
+        emailOutboxDispatcher.dispatchAfterCommit(email.getId());
     }
 
     public void sendApprovalEmail(String toEmail, String firstName, String password) {
@@ -77,7 +72,7 @@ public class EmailService {
                 + "<p style='color:#999;font-size:12px;'>— Brew &amp; Co Admin Team</p>"
                 + "</div>";
 
-        send(toEmail, "☕ Brew & Co — Your Account Has Been Approved!", html);
+        queueEmail(toEmail, "☕ Brew & Co — Your Account Has Been Approved!", html);
     }
 
     public void sendRejectionEmail(String toEmail, String firstName) {
@@ -94,7 +89,7 @@ public class EmailService {
                 + "<br><p style='color:#999;font-size:12px;'>— Brew &amp; Co Admin Team</p>"
                 + "</div>";
 
-        send(toEmail, "Brew & Co — Registration Update", html);
+        queueEmail(toEmail, "Brew & Co — Registration Update", html);
     }
 
     public void sendOrderConfirmationEmail(String toEmail, String firstName, String orderRef, java.math.BigDecimal total) {
@@ -117,6 +112,6 @@ public class EmailService {
                 + "<p style='color:#999;font-size:12px;'>— Brew &amp; Co Team</p>"
                 + "</div>";
 
-        send(toEmail, "☕ Order Confirmed — #" + orderRef, html);
+        queueEmail(toEmail, "☕ Order Confirmed — #" + orderRef, html);
     }
 }
@@ -0,0 +1,247 @@
+package com.brewco.service;
+
+import com.brewco.dto.JobRunResult;
+import com.brewco.dto.JobStatusResponse;
+import com.brewco.entity.JobLease;
+import com.brewco.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules every ClusterJob bean on this node and makes sure each run
+ * happens on one node only.
+ *
+ * Before a run the node takes the job's row in job_leases with a
+ * conditional UPDATE (or INSERT for a job's first run); the database
+ * decides the winner, so no coordinator is needed. The lease lasts the
+ * job's max run time and is handed back when the run ends. Runs stop taking
+ * new chunks after 80% of that time, so a healthy run never outlives its
+ * lease. Lease times are taken from the acquiring node's clock; node clocks
+ * are expected to agree to well under a job's max run time.
+ *
+ * Metrics: brewco.jobs.runs{job, outcome=completed|failed|skipped},
+ * brewco.jobs.duration{job} and brewco.jobs.items{job}.
+ */
+@Service
+public class JobRunner implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(JobRunner.class);
+
+    public static final String TRIGGER_SCHEDULE = "schedule";
+    public static final String TRIGGER_MANUAL = "manual";
+
+    @Value("${jobs.node-id:}")
+    private String configuredNodeId;
+
+    @Autowired
+    private List<ClusterJob> jobList;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String nodeId;
+    private final Map<String, ClusterJob> jobs = new LinkedHashMap<>();
+    private final Map<String, JobMetrics> metrics = new ConcurrentHashMap<>();
+    private final Map<String, JobRunResult> lastRuns = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        nodeId = configuredNodeId.isBlank() ? defaultNodeId() : configuredNodeId;
+        for (ClusterJob job : jobList) {
+            if (jobs.putIfAbsent(job.getName(), job) != null) {
+                throw new IllegalStateException("Duplicate job name: " + job.getName());
+            }
+            metrics.put(job.getName(), new JobMetrics(job.getName()));
+        }
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        for (ClusterJob job : jobs.values()) {
+            registrar.addFixedDelayTask(new FixedDelayTask(() -> run(job, TRIGGER_SCHEDULE),
+                    job.getInterval(), job.getInitialDelay()));
+        }
+    }
+
+    public ClusterJob getJob(String name) {
+        return jobs.get(name);
+    }
+
+    /** Runs the job here if no other node holds its lease; otherwise records a skipped run. */
+    public JobRunResult run(ClusterJob job, String trigger) {
+        LocalDateTime lockedAt = now();
+        if (!tryAcquire(job, lockedAt)) {
+            metrics.get(job.getName()).skipped.increment();
+            return new JobRunResult(job.getName(), trigger, nodeId, "SKIPPED", lockedAt, 0, 0, 0, null);
+        }
+        return runLeased(job, trigger, lockedAt);
+    }
+
+    /**
+     * Takes the lease now and runs the job on the scheduler pool, so a caller
+     * knows straight away whether it started. False if the lease is held.
+     */
+    public boolean trigger(ClusterJob job) {
+        LocalDateTime lockedAt = now();
+        if (!tryAcquire(job, lockedAt)) {
+            return false;
+        }
+        try {
+            taskScheduler.schedule(() -> runLeased(job, TRIGGER_MANUAL, lockedAt), Instant.now());
+            return true;
+        } catch (RuntimeException e) {
+            release(job, lockedAt);
+            throw e;
+        }
+    }
+
+    public List<JobStatusResponse> getStatuses() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, JobLease> leases = new LinkedHashMap<>();
+        jobLeaseRepository.findAllById(jobs.keySet()).forEach(lease -> leases.put(lease.getJobName(), lease));
+        List<JobStatusResponse> statuses = new ArrayList<>();
+        for (ClusterJob job : jobs.values()) {
+            JobLease lease = leases.get(job.getName());
+            boolean running = lease != null && lease.getLockedUntil().isAfter(now);
+            statuses.add(new JobStatusResponse(job.getName(), job.getInterval().toSeconds(),
+                    job.getMaxRunTime().toSeconds(), running,
+                    lease != null ? lease.getLockedBy() : null,
+                    lease != null ? lease.getLockedUntil() : null,
+                    lastRuns.get(job.getName())));
+        }
+        return statuses;
+    }
+
+    private JobRunResult runLeased(ClusterJob job, String trigger, LocalDateTime lockedAt) {
+        JobMetrics jobMetrics = metrics.get(job.getName());
+        long start = System.nanoTime();
+        long stopAfter = start + job.getMaxRunTime().toNanos() / 5 * 4;
+        int chunks = 0;
+        int items = 0;
+        String error = null;
+        try {
+            while (chunks < job.getMaxChunksPerRun() && System.nanoTime() < stopAfter) {
+                int handled = job.processChunk();
+                chunks++;
+                if (handled == 0) {
+                    break;
+                }
+                items += handled;
+                jobMetrics.items.increment(handled);
+            }
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            log.error("Job {} failed after {} chunks", job.getName(), chunks, e);
+        } finally {
+            release(job, lockedAt);
+        }
+        long durationNanos = System.nanoTime() - start;
+        jobMetrics.duration.record(durationNanos, TimeUnit.NANOSECONDS);
+        (error == null ? jobMetrics.completed : jobMetrics.failed).increment();
+        if (items > 0 || TRIGGER_MANUAL.equals(trigger)) {
+            log.info("Job {} ({}) handled {} items in {} chunks, {} ms",
+                    job.getName(), trigger, items, chunks, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        }
+        JobRunResult result = new JobRunResult(job.getName(), trigger, nodeId, error == null ? "COMPLETED" : "FAILED",
+                lockedAt, TimeUnit.NANOSECONDS.toMillis(durationNanos), chunks, items, error);
+        lastRuns.put(job.getName(), result);
+        return result;
+    }
+
+    /**
+     * Each statement commits on its own. The INSERT only happens for a job's
+     * first run; if two nodes race on it the primary key picks one.
+     */
+    private boolean tryAcquire(ClusterJob job, LocalDateTime lockedAt) {
+        LocalDateTime until = lockedAt.plus(job.getMaxRunTime());
+        try {
+            if (jobLeaseRepository.acquire(job.getName(), nodeId, lockedAt, until) == 1) {
+                return true;
+            }
+            if (jobLeaseRepository.existsById(job.getName())) {
+                return false;
+            }
+            return jobLeaseRepository.create(job.getName(), nodeId, lockedAt, until) == 1;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        } catch (Exception e) {
+            log.warn("Job {} could not take its lease: {}", job.getName(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void release(ClusterJob job, LocalDateTime lockedAt) {
+        try {
+            jobLeaseRepository.release(job.getName(), nodeId, lockedAt, now());
+        } catch (Exception e) {
+            // The lease runs out on its own at locked_until
+            log.warn("Job {} could not release its lease: {}", job.getName(), e.getMessage());
+        }
+    }
+
+    /** Millisecond precision, so the value read back from datetime(6) compares equal in release(). */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+
+    private class JobMetrics {
+
+        private final Counter completed;
+        private final Counter failed;
+        private final Counter skipped;
+        private final Counter items;
+        private final Timer duration;
+
+        JobMetrics(String job) {
+            this.completed = runs(job, "completed");
+            this.failed = runs(job, "failed");
+            this.skipped = runs(job, "skipped");
+            this.items = Counter.builder("brewco.jobs.items").tag("job", job).register(meterRegistry);
+            this.duration = Timer.builder("brewco.jobs.duration").tag("job", job).register(meterRegistry);
+        }
+
+        private Counter runs(String job, String outcome) {
+            return Counter.builder("brewco.jobs.runs")
+                    .tag("job", job).tag("outcome", outcome).register(meterRegistry);
+        }
+    }
+}
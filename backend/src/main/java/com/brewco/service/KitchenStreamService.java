@@ -0,0 +1,80 @@
+package com.brewco.service;
+
+import com.brewco.entity.Order;
+import com.brewco.event.OrderStatusChangedEvent;
+import com.brewco.util.SseEmitterRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-cafe Server-Sent Events channel for the kitchen board.
+ *
+ * A chef tablet subscribes once, receives a "snapshot" of all active kitchen
+ * orders, and from then on only "order" (added/changed) and "remove" (left the
+ * kitchen) deltas. Deltas are published after the status change commits, and
+ * each order is serialized once no matter how many tablets are listening.
+ */
+@Service
+public class KitchenStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenStreamService.class);
+
+    public static final List<String> KITCHEN_STATUSES = List.of("SENT_TO_KITCHEN", "PREPARING", "READY");
+
+    /** Emitters are recycled every 30 minutes; EventSource reconnects and gets a fresh snapshot. */
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final SseEmitterRegistry<Long> emittersByCafe = new SseEmitterRegistry<>(EMITTER_TIMEOUT_MS);
+
+    /**
+     * Registers a kitchen screen for the cafe and immediately sends the current
+     * board as the initial snapshot.
+     */
+    public SseEmitter subscribe(Long cafeId, List<Order> snapshot) {
+        return emittersByCafe.register(cafeId, "snapshot", snapshot);
+    }
+
+    public int getSubscriberCount(Long cafeId) {
+        return emittersByCafe.getSubscriberCount(cafeId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Order order = event.getOrder();
+        if (order.getCafe() == null || !emittersByCafe.hasSubscribers(order.getCafe().getId())) {
+            return;
+        }
+
+        boolean inKitchen = KITCHEN_STATUSES.contains(event.getNewStatus());
+        boolean wasInKitchen = event.getPreviousStatus() != null
+                && KITCHEN_STATUSES.contains(event.getPreviousStatus());
+
+        try {
+            if (inKitchen) {
+                emittersByCafe.broadcast(order.getCafe().getId(), "order", objectMapper.writeValueAsString(order));
+            } else if (wasInKitchen) {
+                emittersByCafe.broadcast(order.getCafe().getId(), "remove",
+                        objectMapper.writeValueAsString(Map.of("id", order.getId(), "status", event.getNewStatus())));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to publish kitchen update for order [id={}]: {}", order.getId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emittersByCafe.shutdown();
+    }
+}
@@ -5,12 +5,18 @@ import com.brewco.entity.MenuCategory;
 import com.brewco.entity.MenuItem;
 import com.brewco.repository.MenuCategoryRepository;
 import com.brewco.repository.MenuItemRepository;
+import com.brewco.util.JsonSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class MenuService {
@@ -21,69 +27,143 @@ public class MenuService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private PublicCatalogCache catalogCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // --- Categories ---
 
+    /** Cached; treat the returned categories as read-only. */
+    @Transactional(readOnly = true)
     public List<MenuCategory> getActiveCategoriesForCafe(Cafe cafe) {
-        return menuCategoryRepository.findByCafeAndIsActiveTrueOrderByDisplayOrder(cafe);
+        return catalogCache.getActiveCategories(cafe.getId(),
+                key -> menuCategoryRepository.findByCafeAndIsActiveTrueOrderByDisplayOrder(cafe));
     }
 
+    @Transactional(readOnly = true)
     public List<MenuCategory> getAllCategoriesForCafe(Cafe cafe) {
         return menuCategoryRepository.findByCafeOrderByDisplayOrder(cafe);
     }
 
+    /**
+     * The public category list rendered to JSON once per menu change; served
+     * as-is by CafeController with its ETag.
+     */
+    @Transactional(readOnly = true)
+    public JsonSnapshot getActiveCategoriesSnapshot(Cafe cafe) {
+        return catalogCache.getMenuSnapshot(cafe.getId(),
+                key -> JsonSnapshot.of(objectMapper, getActiveCategoriesForCafe(cafe)));
+    }
+
     @Transactional
     public MenuCategory createCategory(MenuCategory category) {
-        return menuCategoryRepository.save(category);
+        MenuCategory saved = menuCategoryRepository.save(category);
+        catalogCache.evictMenu(saved.getCafe().getId());
+        return saved;
     }
 
     @Transactional
     public MenuCategory updateCategory(MenuCategory category) {
-        return menuCategoryRepository.save(category);
+        MenuCategory saved = menuCategoryRepository.save(category);
+        catalogCache.evictMenu(saved.getCafe().getId());
+        return saved;
     }
 
     @Transactional
     public void deleteCategory(Long id) {
-        menuCategoryRepository.deleteById(id);
+        menuCategoryRepository.findById(id).ifPresent(category -> {
+            menuCategoryRepository.delete(category);
+            catalogCache.evictMenu(category.getCafe().getId());
+        });
     }
 
+    @Transactional(readOnly = true)
     public Optional<MenuCategory> getCategoryById(Long id) {
         return menuCategoryRepository.findById(id);
     }
 
     // --- Items ---
 
+    @Transactional(readOnly = true)
     public List<MenuItem> getAvailableItemsForCategory(MenuCategory category) {
         return menuItemRepository.findByCategoryAndIsAvailableTrue(category);
     }
 
+    /** Cached; treat the returned items as read-only. */
+    @Transactional(readOnly = true)
     public List<MenuItem> getAllItemsForCafe(Cafe cafe) {
-        return menuItemRepository.findByCafe(cafe);
+        return catalogCache.getItems(cafe.getId(), key -> menuItemRepository.findByCafe(cafe));
+    }
+
+    /** The public item list rendered to JSON once per menu change. */
+    @Transactional(readOnly = true)
+    public JsonSnapshot getAllItemsSnapshot(Cafe cafe) {
+        return catalogCache.getItemsSnapshot(cafe.getId(),
+                key -> JsonSnapshot.of(objectMapper, getAllItemsForCafe(cafe)));
+    }
+
+    @Transactional(readOnly = true)
+    public long countItemsForCafe(Cafe cafe) {
+        return menuItemRepository.countByCafe(cafe);
     }
 
     @Transactional
     public MenuItem createItem(MenuItem item) {
-        return menuItemRepository.save(item);
+        MenuItem saved = menuItemRepository.save(item);
+        catalogCache.evictMenu(saved.getCafe().getId());
+        return saved;
     }
 
     @Transactional
     public MenuItem updateItem(MenuItem item) {
-        return menuItemRepository.save(item);
+        MenuItem saved = menuItemRepository.save(item);
+        catalogCache.evictMenu(saved.getCafe().getId());
+        return saved;
     }
 
     @Transactional
     public void deleteItem(Long id) {
-        menuItemRepository.deleteById(id);
+        menuItemRepository.findById(id).ifPresent(item -> {
+            menuItemRepository.delete(item);
+            catalogCache.evictMenu(item.getCafe().getId());
+        });
     }
 
+    @Transactional(readOnly = true)
     public Optional<MenuItem> getItemById(Long itemId) {
         return menuItemRepository.findById(itemId);
     }
 
+    /**
+     * Resolves every menu item in a cart with a single query and returns them
+     * keyed by id (prices are read from these as the order snapshot).
+     * Fails if any item is missing, belongs to another cafe, or is unavailable.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, MenuItem> getAvailableItemsForCart(Cafe cafe, Collection<Long> itemIds) throws Exception {
+        Map<Long, MenuItem> itemsById = menuItemRepository.findAllByCafeIdAndIdIn(cafe.getId(), itemIds).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+
+        for (Long itemId : itemIds) {
+            MenuItem item = itemsById.get(itemId);
+            if (item == null) {
+                throw new Exception("Menu item " + itemId + " not found at this cafe");
+            }
+            if (!Boolean.TRUE.equals(item.getIsAvailable())) {
+                throw new Exception(item.getName() + " is currently unavailable");
+            }
+        }
+        return itemsById;
+    }
+
     /**
      * Returns all add-on items for a cafe (e.g. extra shot, whipped cream,
      * biscuits).
      * Used in "Would you like to add more items?" upsell section.
      */
+    @Transactional(readOnly = true)
     public List<MenuItem> getAddonsForCafe(Cafe cafe) {
         return menuItemRepository.findByCafe(cafe).stream()
                 .filter(item -> Boolean.TRUE.equals(item.getIsAddon()) && Boolean.TRUE.equals(item.getIsAvailable()))
@@ -94,6 +174,7 @@ public class MenuService {
      * Returns top-rated available items for suggestions/upselling.
      * Shows relatable items the customer might also want.
      */
+    @Transactional(readOnly = true)
     public List<MenuItem> getSuggestedItems(Cafe cafe, int limit) {
         return menuItemRepository.findByCafe(cafe).stream()
                 .filter(item -> Boolean.TRUE.equals(item.getIsAvailable()) && !Boolean.TRUE.equals(item.getIsAddon()))
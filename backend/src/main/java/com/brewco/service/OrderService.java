@@ -1,17 +1,33 @@
 package com.brewco.service;
 
+import com.brewco.dto.CafeOrderRow;
+import com.brewco.dto.CafeOrderView;
+import com.brewco.dto.KeysetPage;
+import com.brewco.dto.OrderLineView;
+import com.brewco.dto.OrderSummaryView;
 import com.brewco.entity.*;
+import com.brewco.event.OrderStatusChangedEvent;
+import com.brewco.exception.OrderStatusConflictException;
 import com.brewco.repository.OrderItemRepository;
 import com.brewco.repository.OrderRepository;
 import com.brewco.repository.OrderStatusHistoryRepository;
+import com.brewco.util.KeysetCursor;
 import com.brewco.util.ReferenceGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
@@ -31,6 +47,12 @@ public class OrderService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CafeStatsService cafeStatsService;
+
     @Transactional
     public Order placeOrder(Order order, List<OrderItem> items, User placedBy) {
         return placeOrder(order, items, placedBy, "PLACED");
@@ -51,48 +73,184 @@ public class OrderService {
         order.setTotalAmount(total);
         order.setGrandTotal(total.add(order.getTaxAmount()).subtract(order.getDiscountAmount()));
 
-        Order savedOrder = orderRepository.save(order);
-
+        // Items cascade from the order; with pooled ids nothing hits the DB until flush,
+        // where the order, all items and the history row go out as JDBC batches.
         for (OrderItem item : items) {
-            item.setOrder(savedOrder);
+            item.setOrder(order);
             item.setStatus(initialStatus);
-            orderItemRepository.save(item);
         }
+        order.setItems(items);
+
+        Order savedOrder = orderRepository.save(order);
 
         logStatusChange(savedOrder, initialStatus, placedBy, "Order placed");
+        cafeStatsService.recordOrderPlaced(savedOrder);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(savedOrder, null, initialStatus));
 
-        // Send confirmation email (skip for PENDING_BOOKING — email sent when booking confirmed)
+        // Queue confirmation email in this transaction (skip for PENDING_BOOKING — email sent when booking confirmed)
         if (!"PENDING_BOOKING".equals(initialStatus)) {
-            try {
-                emailService.sendOrderConfirmationEmail(placedBy.getEmail(), placedBy.getFirstName(), savedOrder.getOrderRef(), savedOrder.getGrandTotal());
-            } catch (Exception e) {
-                System.err.println("Email failed: " + e.getMessage());
-            }
+            emailService.sendOrderConfirmationEmail(placedBy.getEmail(), placedBy.getFirstName(), savedOrder.getOrderRef(), savedOrder.getGrandTotal());
         }
 
         return savedOrder;
     }
 
-    public List<Order> getCustomerOrders(User customer) {
-        return orderRepository.findByCustomer(customer);
+    /** Page size without a ?limit=; MAX_PAGE_SIZE caps what a client may ask for. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /** A customer's orders, newest first, one keyset page at a time. */
+    @Transactional(readOnly = true)
+    public KeysetPage<OrderSummaryView> getCustomerOrderPage(User customer, String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int size = pageSize(limit);
+        List<OrderSummaryView> rows = orderRepository.findCustomerOrderPage(customer.getId(),
+                after.createdAt(), after.id(), fetchLimit(size));
+        return toPage(rows, size);
+    }
+
+    /** A cafe's orders in one status (e.g. the chef's DELIVERED history), newest first. */
+    @Transactional(readOnly = true)
+    public KeysetPage<OrderSummaryView> getCafeOrderPageByStatus(Cafe cafe, String status, String cursor,
+            Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int size = pageSize(limit);
+        List<OrderSummaryView> rows = orderRepository.findCafeOrderPageByStatus(cafe.getId(), status,
+                after.createdAt(), after.id(), fetchLimit(size));
+        return toPage(rows, size);
+    }
+
+    /**
+     * The owner's order board, newest first. Two queries per page whatever its
+     * size: the order columns, then every item line of those orders.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<CafeOrderRow> getCafeOrderPage(Cafe cafe, String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int size = pageSize(limit);
+        KeysetPage<CafeOrderView> page = toPage(orderRepository.findCafeOrderPage(cafe.getId(),
+                after.createdAt(), after.id(), fetchLimit(size)), size);
+        if (page.items().isEmpty()) {
+            return new KeysetPage<>(List.of(), null);
+        }
+
+        Map<Long, List<OrderLineView>> linesByOrder = orderItemRepository
+                .findLinesByOrderIds(page.items().stream().map(OrderSummaryView::getId).toList()).stream()
+                .collect(Collectors.groupingBy(OrderLineView::getOrderId));
+        List<CafeOrderRow> rows = page.items().stream()
+                .map(order -> new CafeOrderRow(order, linesByOrder.getOrDefault(order.getId(), List.of())))
+                .toList();
+        return new KeysetPage<>(rows, page.nextCursor());
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /** One row more than the page, to tell whether another page follows. */
+    private static Pageable fetchLimit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    /** Rows were fetched with one extra; its presence means there is a next page. */
+    private static <T extends OrderSummaryView> KeysetPage<T> toPage(List<T> rows, int size) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        T last = items.get(size - 1);
+        return new KeysetPage<>(items, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
     }
 
-    public List<Order> getCafeOrders(Cafe cafe) {
-        return orderRepository.findByCafe(cafe);
+    /**
+     * Orders for a staff board in one query with everything they serialize
+     * already fetched (Order.BOARD_GRAPH), grouped in the order the statuses
+     * are listed.
+     */
+    @Transactional(readOnly = true)
+    public List<Order> getBoardOrders(Cafe cafe, List<String> statuses) {
+        List<Order> orders = new ArrayList<>(orderRepository.findByCafeAndStatusIn(cafe, statuses));
+        orders.sort(Comparator.comparingInt((Order order) -> statuses.indexOf(order.getStatus()))
+                .thenComparing(Order::getId));
+        return orders;
     }
 
-    public List<Order> getCafeOrdersByStatus(Cafe cafe, String status) {
-        return orderRepository.findByCafeAndStatus(cafe, status);
+    /** Orders in one status that a waiter handled, fetched like getBoardOrders. */
+    @Transactional(readOnly = true)
+    public List<Order> getBoardOrdersForWaiter(Cafe cafe, String status, User waiter) {
+        List<Order> orders = new ArrayList<>(orderRepository.findByCafeAndStatusAndAssignedWaiter(cafe, status, waiter));
+        orders.sort(Comparator.comparing(Order::getId));
+        return orders;
     }
+
+    /** With everything the order serializes to (Order.BOARD_GRAPH) already loaded. */
+    @Transactional(readOnly = true)
     public Optional<Order> getOrderById(Long id) {
-        return orderRepository.findById(id);
+        return orderRepository.findWithDetailsById(id);
     }
 
+    /**
+     * Moves the order to newStatus if the transition table allows it. The flush
+     * is a compare-and-set on the version column, so of two staff members acting
+     * on the same order only one wins; the other gets an OrderStatusConflictException
+     * and nothing (history, stats, events) is recorded for it.
+     */
     @Transactional
     public Order updateOrderStatus(Order order, String newStatus, User updatedBy, String notes) {
+        String previousStatus = order.getStatus();
+        if (!OrderStatusMachine.canTransition(previousStatus, newStatus)) {
+            throw new OrderStatusConflictException(order.getId(), previousStatus, newStatus);
+        }
         order.setStatus(newStatus);
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder;
+        try {
+            savedOrder = orderRepository.saveAndFlush(order);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new OrderStatusConflictException("Order was updated by someone else — refresh and try again",
+                    order.getId(), previousStatus, newStatus);
+        }
         logStatusChange(savedOrder, newStatus, updatedBy, notes);
+        cafeStatsService.recordStatusChange(savedOrder, previousStatus, newStatus);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(savedOrder, previousStatus, newStatus));
+        return savedOrder;
+    }
+
+    /**
+     * Sets the chef and/or waiter on an order. A PLACED order is confirmed in the
+     * same step; later statuses keep their status and only the assignment changes.
+     */
+    @Transactional
+    public Order assignStaff(Order order, User chef, User waiter, User assignedBy) {
+        if ("DELIVERED".equals(order.getStatus()) || "CANCELLED".equals(order.getStatus())) {
+            throw new OrderStatusConflictException("Cannot assign staff to an order that is already " + order.getStatus(),
+                    order.getId(), order.getStatus(), order.getStatus());
+        }
+        if (chef != null) {
+            order.setAssignedChef(chef);
+        }
+        if (waiter != null) {
+            order.setAssignedWaiter(waiter);
+        }
+        if ("PLACED".equals(order.getStatus())) {
+            return updateOrderStatus(order, "CONFIRMED", assignedBy, "Staff assigned by owner");
+        }
+        try {
+            return orderRepository.saveAndFlush(order);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new OrderStatusConflictException("Order was updated by someone else — refresh and try again",
+                    order.getId(), order.getStatus(), order.getStatus());
+        }
+    }
+
+    /**
+     * Changes the ETA without a status transition; tracking screens still get
+     * an update so the customer sees the new time.
+     */
+    @Transactional
+    public Order updateEstimatedReadyTime(Order order, java.time.LocalDateTime estimatedReadyTime) {
+        order.setEstimatedReadyTime(estimatedReadyTime);
+        Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(savedOrder, savedOrder.getStatus(), savedOrder.getStatus()));
         return savedOrder;
     }
 
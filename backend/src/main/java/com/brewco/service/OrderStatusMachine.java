@@ -0,0 +1,33 @@
+package com.brewco.service;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The order lifecycle as a transition table. OrderService refuses any status
+ * change that is not listed here, so a retried or duplicated request can never
+ * move an order backwards or log the same step twice.
+ */
+public final class OrderStatusMachine {
+
+    private static final Map<String, Set<String>> TRANSITIONS = Map.of(
+            "PENDING_BOOKING", Set.of("PLACED", "CANCELLED"),
+            "PLACED", Set.of("CONFIRMED", "CANCELLED"),
+            "CONFIRMED", Set.of("SENT_TO_KITCHEN", "CANCELLED"),
+            "SENT_TO_KITCHEN", Set.of("PREPARING"),
+            "PREPARING", Set.of("READY"),
+            "READY", Set.of("DELIVERED"),
+            "DELIVERED", Set.of(),
+            "CANCELLED", Set.of());
+
+    private OrderStatusMachine() {
+    }
+
+    public static boolean canTransition(String from, String to) {
+        return TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    public static boolean isKnownStatus(String status) {
+        return TRANSITIONS.containsKey(status);
+    }
+}
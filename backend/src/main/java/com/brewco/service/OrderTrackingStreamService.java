@@ -0,0 +1,80 @@
+package com.brewco.service;
+
+import com.brewco.dto.OrderStatusUpdate;
+import com.brewco.entity.Order;
+import com.brewco.event.OrderStatusChangedEvent;
+import com.brewco.util.SseEmitterRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Per-order Server-Sent Events channel for the customer's tracking screen.
+ *
+ * The screen receives the current state as the first "status" event and then
+ * one "status" event per committed transition (or ETA change). The stream is
+ * closed by the server once the order is DELIVERED or CANCELLED.
+ */
+@Service
+public class OrderTrackingStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderTrackingStreamService.class);
+
+    public static final List<String> FINAL_STATUSES = List.of("DELIVERED", "CANCELLED");
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final SseEmitterRegistry<Long> emittersByOrder = new SseEmitterRegistry<>(EMITTER_TIMEOUT_MS);
+
+    public SseEmitter subscribe(Order order) {
+        SseEmitter emitter = emittersByOrder.register(order.getId(), "status", toUpdate(order, null));
+        if (FINAL_STATUSES.contains(order.getStatus())) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Order order = event.getOrder();
+        if (!emittersByOrder.hasSubscribers(order.getId())) {
+            return;
+        }
+        try {
+            emittersByOrder.broadcast(order.getId(), "status",
+                    objectMapper.writeValueAsString(toUpdate(order, event.getPreviousStatus())));
+        } catch (Exception e) {
+            log.warn("Failed to publish tracking update for order [id={}]: {}", order.getId(), e.getMessage());
+        }
+        if (FINAL_STATUSES.contains(event.getNewStatus())) {
+            emittersByOrder.completeAll(order.getId());
+        }
+    }
+
+    private OrderStatusUpdate toUpdate(Order order, String previousStatus) {
+        return OrderStatusUpdate.builder()
+                .orderId(order.getId())
+                .orderRef(order.getOrderRef())
+                .status(order.getStatus())
+                .previousStatus(previousStatus)
+                .paymentStatus(order.getPaymentStatus())
+                .estimatedReadyTime(order.getEstimatedReadyTime())
+                .updatedAt(order.getUpdatedAt())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emittersByOrder.shutdown();
+    }
+}
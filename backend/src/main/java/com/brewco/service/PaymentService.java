@@ -61,7 +61,8 @@ public class PaymentService {
      * @param order The Brew & Co order to create payment for
      * @return PaymentResponse containing all data the frontend needs
      */
-    @Transactional
+    // Deliberately not @Transactional: the Razorpay call below must not hold a pooled
+    // connection. The lookup and the Payment insert each run in their own repository transaction.
     public PaymentResponse createRazorpayOrder(Order order) throws Exception {
         // Guard: Razorpay must be configured
         if (razorpayClient == null || !razorpayConfig.isConfigured()) {
@@ -0,0 +1,163 @@
+package com.brewco.service;
+
+import com.brewco.entity.Cafe;
+import com.brewco.entity.MenuCategory;
+import com.brewco.entity.MenuItem;
+import com.brewco.util.JsonSnapshot;
+import com.brewco.util.TtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for the anonymous /api/cafes endpoints: the verified
+ * cafe list, single cafes, each cafe's active categories and items, and the
+ * pre-serialized JSON snapshots of those two menu views.
+ *
+ * Entries are dropped by CafeService and MenuService whenever a cafe or its
+ * menu changes, after the transaction commits, so a concurrent reader cannot
+ * re-cache the old rows. The TTL is only a backstop for writes made outside
+ * those services. Concurrent misses for the same key share one load.
+ *
+ * Metrics: brewco.cache.requests{cache, result=hit|miss} and
+ * brewco.cache.size{cache}.
+ */
+@Component
+public class PublicCatalogCache {
+
+    private static final String VERIFIED_CAFES_KEY = "verified";
+
+    @Value("${catalog.cache.max-cafes:1000}")
+    private int maxCafes;
+
+    @Value("${catalog.cache.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MeteredCache<String, List<Cafe>> verifiedCafes;
+    private MeteredCache<Long, Cafe> cafesById;
+    private MeteredCache<Long, List<MenuCategory>> categoriesByCafe;
+    private MeteredCache<Long, List<MenuItem>> itemsByCafe;
+    private MeteredCache<Long, JsonSnapshot> menuSnapshots;
+    private MeteredCache<Long, JsonSnapshot> itemSnapshots;
+
+    @PostConstruct
+    public void init() {
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        verifiedCafes = new MeteredCache<>("verified_cafes", 1, ttl);
+        cafesById = new MeteredCache<>("cafes", maxCafes, ttl);
+        categoriesByCafe = new MeteredCache<>("menu_categories", maxCafes, ttl);
+        itemsByCafe = new MeteredCache<>("menu_items", maxCafes, ttl);
+        menuSnapshots = new MeteredCache<>("menu_snapshots", maxCafes, ttl);
+        itemSnapshots = new MeteredCache<>("menu_item_snapshots", maxCafes, ttl);
+    }
+
+    public List<Cafe> getVerifiedCafes(Function<String, List<Cafe>> loader) {
+        return verifiedCafes.getOrLoad(VERIFIED_CAFES_KEY, key -> List.copyOf(loader.apply(key)));
+    }
+
+    /** Returns null if the loader finds no cafe; misses are not cached. */
+    public Cafe getCafe(Long cafeId, Function<Long, Cafe> loader) {
+        return cafesById.getOrLoad(cafeId, loader);
+    }
+
+    public List<MenuCategory> getActiveCategories(Long cafeId, Function<Long, List<MenuCategory>> loader) {
+        return categoriesByCafe.getOrLoad(cafeId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    public List<MenuItem> getItems(Long cafeId, Function<Long, List<MenuItem>> loader) {
+        return itemsByCafe.getOrLoad(cafeId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    public JsonSnapshot getMenuSnapshot(Long cafeId, Function<Long, JsonSnapshot> builder) {
+        return menuSnapshots.getOrLoad(cafeId, builder);
+    }
+
+    public JsonSnapshot getItemsSnapshot(Long cafeId, Function<Long, JsonSnapshot> builder) {
+        return itemSnapshots.getOrLoad(cafeId, builder);
+    }
+
+    /** A cafe's own fields changed; its menu is untouched. */
+    public void evictCafe(Long cafeId) {
+        afterCommit(() -> {
+            cafesById.invalidate(cafeId);
+            verifiedCafes.invalidateAll();
+        });
+    }
+
+    /** A category or item of the cafe was created, changed or deleted. */
+    public void evictMenu(Long cafeId) {
+        afterCommit(() -> {
+            categoriesByCafe.invalidate(cafeId);
+            itemsByCafe.invalidate(cafeId);
+            menuSnapshots.invalidate(cafeId);
+            itemSnapshots.invalidate(cafeId);
+        });
+    }
+
+    /** The cafe was deleted. */
+    public void evictAll(Long cafeId) {
+        evictCafe(cafeId);
+        evictMenu(cafeId);
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private class MeteredCache<K, V> {
+
+        private final TtlCache<K, V> cache;
+        private final Counter hits;
+        private final Counter misses;
+
+        MeteredCache(String name, int maxSize, Duration ttl) {
+            this.cache = new TtlCache<>(maxSize, ttl);
+            this.hits = Counter.builder("brewco.cache.requests")
+                    .tag("cache", name).tag("result", "hit").register(meterRegistry);
+            this.misses = Counter.builder("brewco.cache.requests")
+                    .tag("cache", name).tag("result", "miss").register(meterRegistry);
+            Gauge.builder("brewco.cache.size", cache, TtlCache::size)
+                    .tag("cache", name).register(meterRegistry);
+        }
+
+        V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+            V cached = cache.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+            return cache.getOrLoad(key, loader);
+        }
+
+        void invalidate(K key) {
+            cache.invalidate(key);
+        }
+
+        void invalidateAll() {
+            cache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.brewco.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin HTTP client for the Resend email API.
+ *
+ * Backed by a single JDK HttpClient so connections are kept alive and reused,
+ * with connect/read timeouts so a slow API can never hang a worker forever.
+ * The base URL is configurable (resend.api-url) so it can point at a local stub.
+ */
+@Component
+public class ResendClient {
+
+    @Value("${resend.api-key:}")
+    private String resendApiKey;
+
+    @Value("${resend.from:onboarding@resend.dev}")
+    private String fromEmail;
+
+    @Value("${resend.api-url:https://api.resend.com}")
+    private String apiUrl;
+
+    private final RestTemplate restTemplate;
+
+    public ResendClient() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofSeconds(15));
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    public boolean isConfigured() {
+        return resendApiKey != null && !resendApiKey.isBlank();
+    }
+
+    public String getFromEmail() {
+        return fromEmail;
+    }
+
+    /**
+     * Posts one email. Throws on any non-2xx response or I/O failure.
+     */
+    public ResponseEntity<String> send(String to, String subject, String html) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(resendApiKey);
+
+        Map<String, Object> body = Map.of(
+                "from", fromEmail,
+                "to", List.of(to),
+                "subject", subject,
+                "html", html
+        );
+
+        return restTemplate.postForEntity(apiUrl + "/emails", new HttpEntity<>(body, headers), String.class);
+    }
+}
@@ -28,6 +28,9 @@ public class StaffService {
     @Autowired
     private EmailVerificationService emailVerificationService;
 
+    @Autowired
+    private CafeAccessCache cafeAccessCache;
+
     public List<StaffAssignment> getStaffForCafe(Cafe cafe) {
         return staffAssignmentRepository.findByCafe(cafe);
     }
@@ -36,6 +39,14 @@ public class StaffService {
         return staffAssignmentRepository.findByCafeAndIsActiveTrue(cafe);
     }
 
+    public long countActiveStaffForCafe(Cafe cafe) {
+        return staffAssignmentRepository.countByCafeAndIsActiveTrue(cafe);
+    }
+
+    public long countActiveStaffForCafeByRole(Cafe cafe, String role) {
+        return staffAssignmentRepository.countByCafeAndRoleAndIsActiveTrue(cafe, role);
+    }
+
     @Transactional
     public StaffAssignment assignStaffToCafe(User staffUser, Cafe cafe, String role, User assignedBy) {
         StaffAssignment assignment = new StaffAssignment();
@@ -44,7 +55,9 @@ public class StaffService {
         assignment.setRole(role);
         assignment.setIsActive(true);
         assignment.setAssignedBy(assignedBy);
-        return staffAssignmentRepository.save(assignment);
+        StaffAssignment saved = staffAssignmentRepository.save(assignment);
+        cafeAccessCache.evict(staffUser.getId());
+        return saved;
     }
 
     public Optional<StaffAssignment> getActiveAssignmentForStaff(User staff) {
@@ -103,5 +116,6 @@ public class StaffService {
     public void deactivateAssignment(StaffAssignment assignment) {
         assignment.setIsActive(false);
         staffAssignmentRepository.save(assignment);
+        cafeAccessCache.evict(assignment.getStaff().getId());
     }
 }
@@ -0,0 +1,365 @@
+package com.brewco.service;
+
+import com.brewco.dto.BookingSlotView;
+import com.brewco.dto.TableSearchResponse;
+import com.brewco.dto.TableSlot;
+import com.brewco.entity.Booking;
+import com.brewco.entity.Cafe;
+import com.brewco.entity.CafeTable;
+import com.brewco.exception.BookingConflictException;
+import com.brewco.repository.BookingRepository;
+import com.brewco.repository.CafeTableRepository;
+import com.brewco.util.IntervalSet;
+import com.brewco.util.StripedLock;
+import com.brewco.util.TtlCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Which tables are held when, per cafe and day.
+ *
+ * Each (cafe, date) is loaded once, on first use, into per-table sets of
+ * [start, end) minute intervals for its PENDING and CONFIRMED bookings,
+ * mirrored as bitsets of busy 15-minute slots for the slot search.
+ * BookingService pushes every booking it creates or changes into the loaded
+ * day after commit, so free-table searches are in-memory lookups. Writes made
+ * on other nodes only show up when the day is reloaded: at the latest after
+ * the TTL, or sooner when reserve() finds the day out of date.
+ *
+ * The in-memory view is not what prevents double booking: {@link #reserve}
+ * locks the table row and checks overlaps in the database inside the writing
+ * transaction, which holds across concurrent requests and nodes.
+ * Within one node, writers for the same table and day first queue on a
+ * striped lock ({@link #lockTableDay}).
+ */
+@Service
+public class TableAvailabilityService {
+
+    /** Booking statuses that hold a table; CANCELLED and COMPLETED release it. */
+    public static final Set<String> HOLDING_STATUSES = Set.of("PENDING", "CONFIRMED");
+
+    private static final int DEFAULT_SLOT_MINUTES = 60;
+    private static final int END_OF_DAY = 24 * 60;
+    private static final int SLOT_MINUTES = 15;
+    private static final int SLOTS_PER_DAY = END_OF_DAY / SLOT_MINUTES;
+    private static final long NO_BOOKING = -1;
+
+    @Value("${booking.availability.max-days:5000}")
+    private int maxDays;
+
+    @Value("${booking.availability.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Value("${booking.lock.stripes:256}")
+    private int lockStripes;
+
+    @Value("${booking.lock.timeout-ms:5000}")
+    private long lockTimeoutMs;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CafeTableRepository cafeTableRepository;
+
+    private TtlCache<DayKey, DaySchedule> days;
+    private StripedLock tableDayLocks;
+
+    @PostConstruct
+    public void init() {
+        days = new TtlCache<>(maxDays, Duration.ofMinutes(ttlMinutes));
+        tableDayLocks = new StripedLock(lockStripes);
+    }
+
+    public boolean isTableFree(Long cafeId, Long tableId, LocalDate date, LocalTime start, LocalTime end) {
+        return !day(cafeId, date).overlaps(tableId, minuteOf(start), endMinute(start, end), NO_BOOKING);
+    }
+
+    /** Bookable tables seating at least the party that are free for the whole window, smallest first. */
+    @Transactional(readOnly = true)
+    public List<CafeTable> findFreeTables(Cafe cafe, LocalDate date, LocalTime start, LocalTime end, int guests) {
+        DaySchedule schedule = day(cafe.getId(), date);
+        int from = minuteOf(start);
+        int to = endMinute(start, end);
+        return fittingTables(cafe, guests).stream()
+                .filter(table -> !schedule.overlaps(table.getId(), from, to, NO_BOOKING))
+                .toList();
+    }
+
+    /**
+     * Tables for the party at the requested time, plus up to maxAlternatives
+     * other 15-minute-aligned windows with a free table, nearest to the
+     * requested time first, from that day through the next searchDays - 1 days.
+     * Alternatives stay within the cafe's opening hours and skip times that
+     * have already passed.
+     *
+     * The requested window is checked to the minute; alternatives come from
+     * the slot bitsets, which count a slot busy if a booking touches any part
+     * of it, so they can be pessimistic. Both come from this node's view of
+     * the day, which can miss another node's recent bookings; reserve() has
+     * the final say when the table is actually booked.
+     */
+    @Transactional(readOnly = true)
+    public TableSearchResponse searchTables(Cafe cafe, LocalDate date, LocalTime time, int durationMinutes,
+            int guests, int searchDays, int maxAlternatives) {
+        List<CafeTable> fitting = fittingTables(cafe, guests);
+
+        LocalTime requestedEnd = time.plusMinutes(durationMinutes);
+        int from = minuteOf(time);
+        int to = endMinute(time, requestedEnd);
+        DaySchedule requestedDay = day(cafe.getId(), date);
+        List<CafeTable> requestedTables = fitting.stream()
+                .filter(table -> !requestedDay.overlaps(table.getId(), from, to, NO_BOOKING))
+                .toList();
+        TableSlot requested = new TableSlot(date, time, requestedEnd, requestedTables);
+        if (fitting.isEmpty() || maxAlternatives <= 0) {
+            return new TableSearchResponse(guests, requested, List.of());
+        }
+
+        // Every opening-hours start slot of every day, ordered by distance from the requested time
+        int durationSlots = (durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        int openMinute = cafe.getOpeningTime() != null ? minuteOf(cafe.getOpeningTime()) : 0;
+        int closeMinute = cafe.getClosingTime() != null && minuteOf(cafe.getClosingTime()) > openMinute
+                ? minuteOf(cafe.getClosingTime()) : END_OF_DAY;
+        int openSlot = (openMinute + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        int closeSlot = closeMinute / SLOT_MINUTES;
+        LocalDate today = LocalDate.now();
+        int firstSlotToday = minuteOf(LocalTime.now()) / SLOT_MINUTES + 1;
+        List<int[]> candidates = new ArrayList<>();
+        for (int dayOffset = 0; dayOffset < searchDays; dayOffset++) {
+            LocalDate candidateDate = date.plusDays(dayOffset);
+            if (candidateDate.isBefore(today)) {
+                continue;
+            }
+            int firstSlot = candidateDate.equals(today) ? Math.max(openSlot, firstSlotToday) : openSlot;
+            for (int slot = firstSlot; slot + durationSlots <= closeSlot; slot++) {
+                if (dayOffset == 0 && slot * SLOT_MINUTES == from) {
+                    continue; // that is the requested window itself
+                }
+                candidates.add(new int[] {dayOffset, slot});
+            }
+        }
+        candidates.sort(Comparator.comparingInt(c -> Math.abs(c[0] * END_OF_DAY + c[1] * SLOT_MINUTES - from)));
+
+        List<TableSlot> alternatives = new ArrayList<>();
+        DaySchedule[] schedules = new DaySchedule[searchDays];
+        for (int[] candidate : candidates) {
+            if (alternatives.size() >= maxAlternatives) {
+                break;
+            }
+            int dayOffset = candidate[0];
+            int slot = candidate[1];
+            if (schedules[dayOffset] == null) {
+                schedules[dayOffset] = day(cafe.getId(), date.plusDays(dayOffset));
+            }
+            DaySchedule schedule = schedules[dayOffset];
+            List<CafeTable> free = fitting.stream()
+                    .filter(table -> schedule.isFree(table.getId(), slot, slot + durationSlots))
+                    .toList();
+            if (!free.isEmpty()) {
+                LocalTime start = LocalTime.MIDNIGHT.plusMinutes((long) slot * SLOT_MINUTES);
+                alternatives.add(new TableSlot(date.plusDays(dayOffset), start, start.plusMinutes(durationMinutes), free));
+            }
+        }
+        return new TableSearchResponse(guests, requested, alternatives);
+    }
+
+    /**
+     * Makes sure the booking's table is free for its slot before it is saved
+     * as (or moved back to) PENDING/CONFIRMED. Must run inside the writing
+     * transaction: the table row stays locked until it commits, so a second
+     * writer for the same table waits and then sees this booking. Only the
+     * database decides; if the in-memory day disagrees with it, the day was
+     * changed on another node and is dropped so the next read reloads it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Booking booking) {
+        if (booking.getTable() == null || !HOLDING_STATUSES.contains(booking.getStatus())) {
+            return;
+        }
+        Long cafeId = booking.getCafe().getId();
+        Long tableId = booking.getTable().getId();
+        LocalDate date = booking.getBookingDate();
+        lockTableDay(tableId, date);
+        LocalTime start = booking.getStartTime();
+        LocalTime end = endTimeOf(booking);
+        int from = minuteOf(start);
+        int to = endMinute(start, end);
+        long excludeId = booking.getId() != null ? booking.getId() : NO_BOOKING;
+        boolean heldInMemory = day(cafeId, date).overlaps(tableId, from, to, excludeId);
+
+        CafeTable table = cafeTableRepository.findByIdForUpdate(tableId)
+                .orElseThrow(() -> new IllegalArgumentException("Table not found"));
+        if (!table.getCafe().getId().equals(cafeId)) {
+            throw new IllegalArgumentException("Table does not belong to this cafe");
+        }
+        LocalTime queryEnd = to == END_OF_DAY ? LocalTime.MAX : end;
+        boolean held = !bookingRepository.findOverlappingIds(tableId, date, start, queryEnd, HOLDING_STATUSES, excludeId).isEmpty();
+        if (held != heldInMemory) {
+            days.invalidate(new DayKey(cafeId, date));
+        }
+        if (held) {
+            throw new BookingConflictException(tableId, date, start, end);
+        }
+    }
+
+    /**
+     * Serializes this node's booking writes for one table and day until the
+     * current transaction completes, so same-table requests queue here
+     * instead of on the database row lock while other tables proceed in
+     * parallel. Reentrant; reserve() takes it too. Fails with
+     * CannotAcquireLockException after booking.lock.timeout-ms.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockTableDay(Long tableId, LocalDate date) {
+        ReentrantLock lock = tableDayLocks.get(new TableDayKey(tableId, date));
+        try {
+            if (!lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new CannotAcquireLockException("Table is busy with another booking, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting for the table", e);
+        }
+        // Runs after the afterCommit refresh, so the next holder already sees this booking in memory
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    /** Applies a saved booking's current table, time and status to its day, once the transaction commits. */
+    public void refresh(Booking booking) {
+        if (booking.getBookingDate() == null || booking.getStartTime() == null) {
+            return;
+        }
+        DayKey key = new DayKey(booking.getCafe().getId(), booking.getBookingDate());
+        long bookingId = booking.getId();
+        Long tableId = booking.getTable() != null && HOLDING_STATUSES.contains(booking.getStatus())
+                ? booking.getTable().getId() : null;
+        int from = minuteOf(booking.getStartTime());
+        int to = endMinute(booking.getStartTime(), endTimeOf(booking));
+        afterCommit(() -> days.update(key, schedule -> schedule.put(bookingId, tableId, from, to)));
+    }
+
+    /** Bookable tables that seat the party, smallest first. */
+    private List<CafeTable> fittingTables(Cafe cafe, int guests) {
+        return cafeTableRepository.findByCafe(cafe).stream()
+                .filter(table -> Boolean.TRUE.equals(table.getIsAvailable()) && table.getCapacity() >= guests)
+                .sorted(Comparator.comparing(CafeTable::getCapacity).thenComparing(CafeTable::getTableNumber))
+                .toList();
+    }
+
+    private DaySchedule day(Long cafeId, LocalDate date) {
+        return days.getOrLoad(new DayKey(cafeId, date), key -> {
+            DaySchedule schedule = new DaySchedule();
+            for (BookingSlotView slot : bookingRepository.findSlotsByCafeIdAndDate(key.cafeId(), key.date(), HOLDING_STATUSES)) {
+                LocalTime end = slot.getEndTime() != null ? slot.getEndTime()
+                        : slot.getStartTime().plusMinutes(slot.getSlotDuration() != null ? slot.getSlotDuration() : DEFAULT_SLOT_MINUTES);
+                schedule.put(slot.getId(), slot.getTableId(), minuteOf(slot.getStartTime()), endMinute(slot.getStartTime(), end));
+            }
+            return schedule;
+        });
+    }
+
+    private static LocalTime endTimeOf(Booking booking) {
+        if (booking.getEndTime() != null) {
+            return booking.getEndTime();
+        }
+        int minutes = booking.getSlotDuration() != null ? booking.getSlotDuration() : DEFAULT_SLOT_MINUTES;
+        return booking.getStartTime().plusMinutes(minutes);
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /** A slot that runs past midnight ends with the day; bookings do not carry over to the next date. */
+    private static int endMinute(LocalTime start, LocalTime end) {
+        int minute = minuteOf(end);
+        return minute > minuteOf(start) ? minute : END_OF_DAY;
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private record DayKey(Long cafeId, LocalDate date) {
+    }
+
+    private record TableDayKey(Long tableId, LocalDate date) {
+    }
+
+    /**
+     * One cafe's bookings on one day, by table: exact minute intervals for
+     * conflict checks, plus a bitset of busy 15-minute slots per table that
+     * the slot search scans.
+     */
+    private static class DaySchedule {
+
+        private final Map<Long, IntervalSet> byTable = new HashMap<>();
+        private final Map<Long, BitSet> busySlotsByTable = new HashMap<>();
+        private final Map<Long, Long> tableByBooking = new HashMap<>();
+
+        synchronized boolean overlaps(Long tableId, int start, int end, long excludeId) {
+            IntervalSet intervals = byTable.get(tableId);
+            return intervals != null && intervals.overlaps(start, end, excludeId);
+        }
+
+        /** True if none of the table's slots in [fromSlot, toSlot) is busy. */
+        synchronized boolean isFree(Long tableId, int fromSlot, int toSlot) {
+            BitSet busy = busySlotsByTable.get(tableId);
+            if (busy == null) {
+                return true;
+            }
+            int next = busy.nextSetBit(fromSlot);
+            return next < 0 || next >= toSlot;
+        }
+
+        /** Moves the booking to the given table and slot, or drops it when tableId is null. */
+        synchronized void put(long bookingId, Long tableId, int start, int end) {
+            Long previousTable = tableByBooking.remove(bookingId);
+            if (previousTable != null) {
+                byTable.get(previousTable).remove(bookingId);
+                busySlotsByTable.put(previousTable, byTable.get(previousTable).toSlots(SLOT_MINUTES));
+            }
+            if (tableId != null) {
+                IntervalSet intervals = byTable.computeIfAbsent(tableId, id -> new IntervalSet());
+                intervals.add(bookingId, start, end);
+                busySlotsByTable.put(tableId, intervals.toSlots(SLOT_MINUTES));
+                tableByBooking.put(bookingId, tableId);
+            }
+        }
+    }
+}
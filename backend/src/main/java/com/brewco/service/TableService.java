@@ -19,6 +19,14 @@ public class TableService {
         return cafeTableRepository.findByCafe(cafe);
     }
 
+    public long countTablesForCafe(Cafe cafe) {
+        return cafeTableRepository.countByCafe(cafe);
+    }
+
+    public long countTablesForCafeByStatus(Cafe cafe, String status) {
+        return cafeTableRepository.countByCafeAndStatus(cafe, status);
+    }
+
     public Optional<CafeTable> getTableById(Long id) {
         return cafeTableRepository.findById(id);
     }
@@ -0,0 +1,99 @@
+package com.brewco.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-flight request limit that adapts to observed latency (a simplified
+ * gradient limiter in the style of Netflix concurrency-limits' Gradient2).
+ *
+ * Two moving averages of response time are kept: a fast one for right now and
+ * a slow baseline. While the fast average stays near the baseline, the limit
+ * grows by about sqrt(limit) per sample. When latency rises, because requests
+ * are queueing on the connection pool, the limit shrinks in proportion. Excess
+ * requests are then turned away instead of joining the queue. Samples taken
+ * while the limiter was mostly idle carry no signal and are ignored.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double FAST_SMOOTHING = 0.1;   // ~10 samples
+    private static final double SLOW_SMOOTHING = 0.01;  // ~100 samples
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;    // latency may grow 50% over baseline before backing off
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double fastRttNanos;
+    private double slowRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Takes an in-flight slot, or returns -1 if the limit is reached. On success
+     * returns the in-flight count at admission, to be passed back to
+     * {@link #release}.
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot and, if rttNanos is positive, feeds the response time back
+     * into the limit.
+     */
+    public void release(int inFlightAtStart, long rttNanos) {
+        inFlight.decrementAndGet();
+        if (rttNanos > 0) {
+            onSample(inFlightAtStart, rttNanos);
+        }
+    }
+
+    private synchronized void onSample(int inFlightAtStart, long rttNanos) {
+        fastRttNanos = fastRttNanos == 0 ? rttNanos : fastRttNanos * (1 - FAST_SMOOTHING) + rttNanos * FAST_SMOOTHING;
+        slowRttNanos = slowRttNanos == 0 ? rttNanos : slowRttNanos * (1 - SLOW_SMOOTHING) + rttNanos * SLOW_SMOOTHING;
+        // After an overload the baseline is inflated; let it drift back down quickly once latency recovers
+        if (slowRttNanos > 2 * fastRttNanos) {
+            slowRttNanos *= 0.95;
+        }
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * slowRttNanos / fastRttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
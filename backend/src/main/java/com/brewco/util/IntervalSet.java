@@ -0,0 +1,58 @@
+package com.brewco.util;
+
+import java.util.BitSet;
+import java.util.TreeSet;
+
+/**
+ * Half-open integer intervals [start, end), each tagged with an id, kept
+ * sorted by start. Used for one table's bookings on one day (minutes since
+ * midnight), where there are rarely more than a dozen entries.
+ *
+ * An overlap query only looks at intervals that start before the probe
+ * ends. Stored intervals may themselves overlap, e.g. double bookings made
+ * before overlap checks existed; they are still reported correctly. Not
+ * thread-safe.
+ */
+public class IntervalSet {
+
+    private final TreeSet<Interval> intervals = new TreeSet<>();
+
+    public void add(long id, int start, int end) {
+        intervals.add(new Interval(start, end, id));
+    }
+
+    public boolean remove(long id) {
+        return intervals.removeIf(interval -> interval.id == id);
+    }
+
+    /** True if any interval other than excludeId overlaps [start, end). Pass a negative excludeId to exclude none. */
+    public boolean overlaps(int start, int end, long excludeId) {
+        for (Interval interval : intervals.headSet(new Interval(end, end, Long.MIN_VALUE))) {
+            if (interval.end > start && interval.id != excludeId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Bit i is set if any interval overlaps [i * slotLength, (i + 1) * slotLength). */
+    public BitSet toSlots(int slotLength) {
+        BitSet slots = new BitSet();
+        for (Interval interval : intervals) {
+            slots.set(interval.start / slotLength, (interval.end + slotLength - 1) / slotLength);
+        }
+        return slots;
+    }
+
+    public boolean isEmpty() {
+        return intervals.isEmpty();
+    }
+
+    private record Interval(int start, int end, long id) implements Comparable<Interval> {
+        @Override
+        public int compareTo(Interval other) {
+            int byStart = Integer.compare(start, other.start);
+            return byStart != 0 ? byStart : Long.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.brewco.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body serialized once: UTF-8 JSON, a gzip copy when that is
+ * actually smaller, and an ETag derived from the content.
+ *
+ * The ETag is weak (W/"...") because the plain and gzip bodies share it;
+ * they are the same representation byte-for-byte once decoded. Instances
+ * are immutable and safe to share between requests; the byte arrays must
+ * not be modified.
+ */
+public final class JsonSnapshot {
+
+    private static final int MIN_GZIP_BYTES = 512;
+
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String etag;
+
+    private JsonSnapshot(byte[] json, byte[] gzip, String etag) {
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = etag;
+    }
+
+    public static JsonSnapshot of(ObjectMapper objectMapper, Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize snapshot", e);
+        }
+        return new JsonSnapshot(json, gzipIfSmaller(json), "W/\"" + contentHash(json) + "\"");
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    /** Null when the body is too small for gzip to pay off. */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * True if an If-None-Match header lists this snapshot's ETag (weak
+     * comparison, as RFC 9110 requires for If-None-Match) or is "*".
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static byte[] gzipIfSmaller(byte[] json) {
+        if (json.length < MIN_GZIP_BYTES) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not gzip snapshot", e);
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < json.length ? compressed : null;
+    }
+
+    private static String contentHash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.brewco.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a list ordered by (created_at DESC, id DESC): the last row the
+ * client has seen. The next page is everything strictly after it, which the
+ * (…, created_at) indexes answer with a range scan however deep the client
+ * pages, unlike OFFSET. Sent to clients as an opaque URL-safe token.
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    /** Sorts before every real row, so a query with it returns the first page. */
+    public static final KeysetCursor START = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Null or blank means the first page. */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
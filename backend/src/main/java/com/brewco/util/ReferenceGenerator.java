@@ -1,25 +1,108 @@
 package com.brewco.util;
 
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Random;
 
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Human-facing references (ORD-…, BKG-…, PAY-…) backed by Snowflake-style ids:
+ * 41 bits of milliseconds since 2024-01-01, 10 bits of node id and a 12-bit
+ * per-millisecond sequence. Ids are unique across nodes as long as every node
+ * has its own brewco.reference.node-id, and are encoded in base 36.
+ *
+ * The last issued (timestamp, sequence) pair lives in a single AtomicLong and
+ * is advanced with compare-and-set, so no lock is taken. If the wall clock
+ * goes backwards, or a millisecond's 4096 sequence numbers are used up, ids
+ * keep coming from the last timestamp. The generator runs slightly ahead of
+ * the clock until the clock catches up, and never repeats an id.
+ */
 @Component
 public class ReferenceGenerator {
 
-    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
-    private final Random random = new Random();
+    private static final Logger log = LoggerFactory.getLogger(ReferenceGenerator.class);
+
+    private static final long EPOCH_MS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /** Configure explicitly per instance when running more than one; -1 derives it from host and pid. */
+    @Value("${brewco.reference.node-id:-1}")
+    private long configuredNodeId;
+
+    private final LongSupplier clock;
+
+    private long nodeBits;
+
+    /** (timestamp - EPOCH_MS) << SEQUENCE_BITS | sequence of the last issued id. */
+    private final AtomicLong lastState = new AtomicLong();
+
+    public ReferenceGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    /** Tests drive the clock to exercise regression and sequence overflow. */
+    ReferenceGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void init() {
+        long nodeId = configuredNodeId >= 0 ? configuredNodeId : deriveNodeId();
+        if (nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("brewco.reference.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        nodeBits = nodeId << SEQUENCE_BITS;
+        log.info("Reference generator using node id {}{}", nodeId,
+                configuredNodeId >= 0 ? "" : " (derived — set brewco.reference.node-id when running several instances)");
+    }
 
     public String generateOrderReference() {
-        return "ORD-" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + "-" + String.format("%03d", random.nextInt(1000));
+        return "ORD-" + encode(nextId());
     }
 
     public String generateBookingReference() {
-        return "BKG-" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + "-" + String.format("%03d", random.nextInt(1000));
+        return "BKG-" + encode(nextId());
     }
 
     public String generatePaymentReference() {
-        return "PAY-" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + "-" + String.format("%03d", random.nextInt(1000));
+        return "PAY-" + encode(nextId());
+    }
+
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH_MS) << SEQUENCE_BITS;
+        while (true) {
+            long last = lastState.get();
+            // New millisecond: restart the sequence. Same millisecond, clock regression
+            // or sequence overflow: take the next slot after the last one issued.
+            long next = now > last ? now : last + 1;
+            if (lastState.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    private static String encode(long id) {
+        return Long.toString(id, 36).toUpperCase();
+    }
+
+    private static long deriveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "localhost";
+        }
+        String identity = host + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        return (identity.hashCode() & 0x7fffffff) % (MAX_NODE_ID + 1);
     }
 }
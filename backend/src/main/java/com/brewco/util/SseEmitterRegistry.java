@@ -0,0 +1,128 @@
+package com.brewco.util;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyed set of open Server-Sent Event connections (e.g. cafe id → kitchen
+ * tablets, order id → customer screens).
+ *
+ * Dead connections are dropped on the first failed write, and every registry
+ * shares one daemon thread that sends a comment heartbeat so proxies keep
+ * idle streams open.
+ */
+public class SseEmitterRegistry<K> {
+
+    private static final long HEARTBEAT_SECONDS = 25;
+
+    private static final ScheduledExecutorService HEARTBEAT = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sse-heartbeat");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final long emitterTimeoutMs;
+    private final Map<K, List<SseEmitter>> emittersByKey = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> heartbeatTask;
+
+    public SseEmitterRegistry(long emitterTimeoutMs) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.heartbeatTask = HEARTBEAT.scheduleAtFixedRate(this::sendHeartbeats,
+                HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Opens a new emitter under the key and sends the initial event to it.
+     */
+    public SseEmitter register(K key, String initialEventName, Object initialData) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emittersByKey.compute(key, (k, emitters) -> {
+            List<SseEmitter> list = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+
+        emitter.onCompletion(() -> remove(key, emitter));
+        emitter.onTimeout(() -> remove(key, emitter));
+        emitter.onError(e -> remove(key, emitter));
+
+        try {
+            emitter.send(SseEmitter.event().name(initialEventName).data(initialData, MediaType.APPLICATION_JSON));
+        } catch (Exception e) {
+            remove(key, emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public boolean hasSubscribers(K key) {
+        List<SseEmitter> emitters = emittersByKey.get(key);
+        return emitters != null && !emitters.isEmpty();
+    }
+
+    public int getSubscriberCount(K key) {
+        List<SseEmitter> emitters = emittersByKey.get(key);
+        return emitters != null ? emitters.size() : 0;
+    }
+
+    /**
+     * Sends an already-serialized JSON payload to every emitter under the key.
+     */
+    public void broadcast(K key, String eventName, String json) {
+        List<SseEmitter> emitters = emittersByKey.get(key);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(json, MediaType.APPLICATION_JSON));
+            } catch (Exception e) {
+                remove(key, emitter);
+            }
+        }
+    }
+
+    /**
+     * Ends every stream under the key, e.g. once an order reaches a final state.
+     */
+    public void completeAll(K key) {
+        List<SseEmitter> emitters = emittersByKey.remove(key);
+        if (emitters != null) {
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    public void shutdown() {
+        heartbeatTask.cancel(false);
+        emittersByKey.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        emittersByKey.clear();
+    }
+
+    private void sendHeartbeats() {
+        emittersByKey.forEach((key, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (Exception e) {
+                    remove(key, emitter);
+                }
+            }
+        });
+    }
+
+    private void remove(K key, SseEmitter emitter) {
+        emittersByKey.computeIfPresent(key, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package com.brewco.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed pool of locks shared by any number of keys: each key always maps
+ * to the same stripe. Memory stays constant however many keys there are,
+ * and two different keys only contend when they hash to the same stripe
+ * (roughly 1 in the stripe count).
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+
+    /** Rounded up to a power of two. */
+    public StripedLock(int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock get(Object key) {
+        int hash = key.hashCode() * 0x9E3779B9; // spread keys whose hashes differ only in the high bits
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
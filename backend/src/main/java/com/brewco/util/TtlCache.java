@@ -0,0 +1,121 @@
+package com.brewco.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Small in-process cache with a per-entry time-to-live and a size bound.
+ *
+ * Expired entries are dropped when read and swept whenever the cache grows
+ * past maxSize. If the cache is still full after that, arbitrary entries are
+ * evicted until it is back under the bound. That is good enough for caches
+ * that can always be rebuilt (principals, lookups), not for anything that
+ * must be kept.
+ */
+public class TtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public TtlCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Returns the cached value or loads it. Concurrent callers for the same key
+     * wait for a single load instead of each running the loader.
+     */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Entry<V> entry = entries.compute(key, (k, existing) -> {
+            if (existing != null && !existing.isExpired(System.nanoTime())) {
+                return existing;
+            }
+            V loaded = loader.apply(k);
+            return loaded != null ? new Entry<>(loaded, System.nanoTime() + ttlNanos) : null;
+        });
+        trimIfNeeded();
+        return entry != null ? entry.value : null;
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        trimIfNeeded();
+    }
+
+    /**
+     * Puts with a shorter lifetime than the cache default, e.g. until a token
+     * expires. The default TTL still caps it.
+     */
+    public void put(K key, V value, Duration ttl) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + Math.min(ttl.toNanos(), ttlNanos)));
+        trimIfNeeded();
+    }
+
+    /**
+     * Updates a cached value in place, keeping its expiry. Waits for an
+     * in-flight load of the same key, so the change is never lost to a load
+     * that read older data. Does nothing if the key is not cached.
+     */
+    public void update(K key, Consumer<? super V> change) {
+        entries.computeIfPresent(key, (k, entry) -> {
+            if (entry.isExpired(System.nanoTime())) {
+                return null;
+            }
+            change.accept(entry.value);
+            return entry;
+        });
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void trimIfNeeded() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(e -> e.getValue().isExpired(now));
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() > maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+}
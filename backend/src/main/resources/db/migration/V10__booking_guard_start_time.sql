@@ -0,0 +1,7 @@
+-- The booking overlap guard also bounds start_time, which lets idx_bookings_status_date_start
+-- (V8) compete for it: that index covers every cafe's bookings for the day, so picking it would
+-- make the locking read lock all of them. With start_time on the guard index it matches more of
+-- the query than any other index. Created before the old one is dropped so bookings.table_id
+-- always keeps an index for its foreign key.
+create index idx_bookings_table_date_status_start on bookings (table_id, booking_date, status, start_time);
+drop index idx_bookings_table_date_status on bookings;
@@ -0,0 +1,411 @@
+-- Baseline schema: the tables as Hibernate's ddl-auto=update created them before migrations existed.
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this file,
+-- so everything added since then lives in V2 onwards.
+
+create table addresses (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    city varchar(255) not null,
+    postal_code varchar(255) not null,
+    state varchar(255),
+    street varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table audit_logs (
+    entity_id bigint,
+    id bigint not null auto_increment,
+    timestamp datetime(6) not null,
+    user_id bigint,
+    action varchar(255) not null,
+    details TEXT,
+    entity_name varchar(255),
+    ip_address varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table bookings (
+    booking_date date not null,
+    end_time time(6),
+    number_of_guests integer not null,
+    slot_duration integer,
+    start_time time(6) not null,
+    cafe_id bigint not null,
+    created_at datetime(6),
+    customer_id bigint not null,
+    id bigint not null auto_increment,
+    table_id bigint,
+    updated_at datetime(6),
+    booking_ref varchar(255),
+    special_requests TEXT,
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table cafe_documents (
+    cafe_id bigint not null,
+    id bigint not null auto_increment,
+    uploaded_at datetime(6) not null,
+    document_type varchar(255) not null,
+    file_url varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table cafe_tables (
+    capacity integer not null,
+    is_available bit not null,
+    table_number integer not null,
+    cafe_id bigint not null,
+    id bigint not null auto_increment,
+    description varchar(255),
+    display_label varchar(255),
+    image_url varchar(255),
+    qr_code varchar(255),
+    status varchar(255) not null,
+    table_type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table cafes (
+    avg_rating decimal(3,2),
+    closing_time time(6),
+    is_active bit not null,
+    is_verified bit not null,
+    opening_time time(6),
+    total_reviews integer,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    owner_id bigint not null,
+    updated_at datetime(6),
+    fssai_license varchar(14),
+    gst_number varchar(15),
+    food_license_number varchar(50),
+    profile_image_url varchar(500),
+    address varchar(255) not null,
+    city varchar(255),
+    contact_number varchar(255),
+    description TEXT,
+    email varchar(255),
+    name varchar(255) not null,
+    state varchar(255),
+    zip_code varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table email_verifications (
+    is_used bit,
+    otp varchar(6) not null,
+    created_at datetime(6),
+    expiry_date datetime(6) not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table govt_proof (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    proof_number varchar(255) not null,
+    proof_type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table menu_categories (
+    display_order integer not null,
+    is_active bit not null,
+    cafe_id bigint not null,
+    id bigint not null auto_increment,
+    description TEXT,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table menu_items (
+    avg_rating decimal(3,2),
+    is_addon bit,
+    is_available bit not null,
+    price decimal(10,2) not null,
+    cafe_id bigint not null,
+    category_id bigint not null,
+    id bigint not null auto_increment,
+    description TEXT,
+    image_url varchar(255),
+    name varchar(255) not null,
+    type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table order_items (
+    quantity integer not null,
+    sub_total decimal(10,2) not null,
+    unit_price decimal(10,2) not null,
+    id bigint not null auto_increment,
+    menu_item_id bigint not null,
+    order_id bigint not null,
+    notes TEXT,
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table order_status_history (
+    changed_at datetime(6) not null,
+    changed_by_id bigint not null,
+    id bigint not null auto_increment,
+    order_id bigint not null,
+    notes TEXT,
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table orders (
+    discount_amount decimal(10,2),
+    grand_total decimal(10,2) not null,
+    tax_amount decimal(10,2),
+    total_amount decimal(10,2) not null,
+    assigned_chef_id bigint,
+    assigned_waiter_id bigint,
+    booking_id bigint,
+    cafe_id bigint not null,
+    created_at datetime(6),
+    customer_id bigint not null,
+    estimated_ready_time datetime(6),
+    id bigint not null auto_increment,
+    table_id bigint,
+    updated_at datetime(6),
+    order_ref varchar(255),
+    order_type varchar(255) not null,
+    payment_status varchar(255) not null,
+    special_instructions TEXT,
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table payments (
+    amount decimal(10,2) not null,
+    currency varchar(3),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    order_id bigint not null,
+    payment_date datetime(6),
+    razorpay_signature varchar(500),
+    payment_method varchar(255) not null,
+    razorpay_order_id varchar(255),
+    razorpay_payment_id varchar(255),
+    status varchar(255) not null,
+    transaction_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table refresh_tokens (
+    is_revoked bit,
+    expiry_date datetime(6) not null,
+    id bigint not null auto_increment,
+    user_id bigint,
+    token varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table staff_assignments (
+    is_active bit not null,
+    assigned_at datetime(6) not null,
+    assigned_by bigint,
+    cafe_id bigint not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    assigned_role varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    is_active bit,
+    is_email_verified bit,
+    is_profile_complete bit,
+    login_count integer,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    last_login_at datetime(6),
+    updated_at datetime(6),
+    mobile_number varchar(15),
+    profile_image_url varchar(500),
+    date_of_birth varchar(255),
+    email varchar(255) not null,
+    first_name varchar(255) not null,
+    gender varchar(255) not null,
+    last_login_ip varchar(255),
+    last_name varchar(255) not null,
+    password varchar(255),
+    password_hash varchar(255),
+    phone_number varchar(255),
+    role varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table work_experience (
+    years integer not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    company_name varchar(255) not null,
+    position varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table bookings
+   add constraint UK_mixjojjfxsussm3x48inu5n7i unique (booking_ref);
+
+alter table orders
+   add constraint UK_iwspr2ybqjm9jxjy4iql7t4tc unique (order_ref);
+
+alter table refresh_tokens
+   add constraint UK_7tdcd6ab5wsgoudnvj7xf1b7l unique (user_id);
+
+alter table refresh_tokens
+   add constraint UK_ghpmfn23vmxfu3spu3lfg4r2d unique (token);
+
+alter table users
+   add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table addresses
+   add constraint FK1fa36y2oqhao3wgg2rw1pi459
+   foreign key (user_id)
+   references users (id);
+
+alter table audit_logs
+   add constraint FKjs4iimve3y0xssbtve5ysyef0
+   foreign key (user_id)
+   references users (id);
+
+alter table bookings
+   add constraint FKm427lc5wit7d6qgyaus66rj90
+   foreign key (cafe_id)
+   references cafes (id);
+
+alter table bookings
+   add constraint FKib6gjgj2e9binkktxmm175bmm
+   foreign key (customer_id)
+   references users (id);
+
+alter table bookings
+   add constraint FKccttgpfwwr1yme9mj3sji7ma5
+   foreign key (table_id)
+   references cafe_tables (id);
+
+alter table cafe_documents
+   add constraint FKp5o7oxbi62ndds790nxw8jl8a
+   foreign key (cafe_id)
+   references cafes (id);
+
+alter table cafe_tables
+   add constraint FKapv5cgj68edydu56b6r8asm7k
+   foreign key (cafe_id)
+   references cafes (id);
+
+alter table cafes
+   add constraint FKlgi1dyfsif973nqkd1rtmoptb
+   foreign key (owner_id)
+   references users (id);
+
+alter table email_verifications
+   add constraint FKou1xuy3rdeao75p2x1v4v3xs
+   foreign key (user_id)
+   references users (id);
+
+alter table govt_proof
+   add constraint FK7g8g1nq787aajjqrshkoc0xur
+   foreign key (user_id)
+   references users (id);
+
+alter table menu_categories
+   add constraint FKpndck8det5vb1hwf4ej3dgn3q
+   foreign key (cafe_id)
+   references cafes (id);
+
+alter table menu_items
+   add constraint FKq5u5pd4a8h9ue16ytgmx2gjtp
+   foreign key (cafe_id)
+   references cafes (id);
+
+alter table menu_items
+   add constraint FK4pc1grgsms7nqm2i6oig37pro
+   foreign key (category_id)
+   references menu_categories (id);
+
+alter table order_items
+   add constraint FKdtfg1f49yr5yye2fpl2xid2xo
+   foreign key (menu_item_id)
+   references menu_items (id);
+
+alter table order_items
+   add constraint FKbioxgbv59vetrxe0ejfubep1w
+   foreign key (order_id)
+   references orders (id);
+
+alter table order_status_history
+   add constraint FK6l5adf906vgul7mdk3o40392m
+   foreign key (changed_by_id)
+   references users (id);
+
+alter table order_status_history
+   add constraint FKnmcbg3mmbt8wfva97ra40nmp3
+   foreign key (order_id)
+   references orders (id);
+
+alter table orders
+   add constraint FKgpyg5mdwytnn4uolo6yfxe8y0
+   foreign key (assigned_chef_id)
+   references users (id);
+
+alter table orders
+   add constraint FKs8fedeo4div6jh697ur66fj71
+   foreign key (assigned_waiter_id)
+   references users (id);
+
+alter table orders
+   add constraint FKd6wr25w3inhmll93l9fo8f3dv
+   foreign key (booking_id)
+   references bookings (id);
+
+alter table orders
+   add constraint FKl1jq51kaclrgcpwhp7777fj83
+   foreign key (cafe_id)
+   references cafes (id);
+
+alter table orders
+   add constraint FKsjfs85qf6vmcurlx43cnc16gy
+   foreign key (customer_id)
+   references users (id);
+
+alter table orders
+   add constraint FKql9pi3i8yf1fey6eyp4wlyl5o
+   foreign key (table_id)
+   references cafe_tables (id);
+
+alter table payments
+   add constraint FK81gagumt0r8y3rmudcgpbk42l
+   foreign key (order_id)
+   references orders (id);
+
+alter table refresh_tokens
+   add constraint FK1lih5y2npsf8u5o3vhdb9y0os
+   foreign key (user_id)
+   references users (id);
+
+alter table staff_assignments
+   add constraint FK54bpa26e3gluw8lxjb7agfmka
+   foreign key (assigned_by)
+   references users (id);
+
+alter table staff_assignments
+   add constraint FKf5n4w0l3pgofkg6kc8hh0wwb2
+   foreign key (cafe_id)
+   references cafes (id);
+
+alter table staff_assignments
+   add constraint FK6t5owu9ar0rmbpbn7cucklibr
+   foreign key (user_id)
+   references users (id);
+
+alter table work_experience
+   add constraint FKm7a8aj1sa7ec50xjqfbmp6jka
+   foreign key (user_id)
+   references users (id);
@@ -0,0 +1,20 @@
+-- Transactional email outbox (EmailService.queueEmail, delivered by EmailOutboxDispatcher).
+-- html is cleared once a row is SENT; EmailOutboxRetentionService deletes finished rows.
+create table email_outbox (
+    attempts integer not null,
+    claimed_at datetime(6),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    next_attempt_at datetime(6) not null,
+    sent_at datetime(6),
+    last_error varchar(1000),
+    html TEXT,
+    status varchar(255) not null,
+    subject varchar(255) not null,
+    to_email varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Sweep for due rows (status = 'PENDING', next_attempt_at <= now) and the retention delete
+create index idx_email_outbox_status_next
+   on email_outbox (status, next_attempt_at);
@@ -0,0 +1,21 @@
+-- Pooled id generators for the order tables (allocationSize = 50, table-emulated on MySQL), so
+-- placeOrder can batch the order, its items and its history rows. Existing rows keep the ids
+-- AUTO_INCREMENT gave them; each generator starts one block past the current max id so none of
+-- them is handed out again. The AUTO_INCREMENT attribute stays on the id columns but is unused.
+create table orders_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into orders_seq select coalesce(max(id), 0) + 51 from orders;
+
+create table order_items_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into order_items_seq select coalesce(max(id), 0) + 51 from order_items;
+
+create table order_status_history_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into order_status_history_seq select coalesce(max(id), 0) + 51 from order_status_history;
@@ -0,0 +1,39 @@
+-- Per-cafe dashboard aggregates, maintained by CafeStatsService on every order placement and
+-- status change, and backfilled here from the orders that already exist.
+create table cafe_status_totals (
+    total_amount decimal(12,2) not null,
+    cafe_id bigint not null,
+    id bigint not null auto_increment,
+    order_count bigint not null,
+    status varchar(30) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table cafe_status_totals
+   add constraint uk_cafe_status_totals_cafe_status unique (cafe_id, status);
+
+create table cafe_daily_stats (
+    delivered_revenue decimal(12,2) not null,
+    stats_date date not null,
+    cafe_id bigint not null,
+    id bigint not null auto_increment,
+    orders_delivered bigint not null,
+    orders_placed bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table cafe_daily_stats
+   add constraint uk_cafe_daily_stats_cafe_date unique (cafe_id, stats_date);
+
+insert into cafe_status_totals (cafe_id, status, order_count, total_amount)
+select o.cafe_id, o.status, count(*), coalesce(sum(o.grand_total), 0)
+from orders o
+group by o.cafe_id, o.status;
+
+insert into cafe_daily_stats (cafe_id, stats_date, orders_placed, orders_delivered, delivered_revenue)
+select o.cafe_id, date(o.created_at), count(*),
+       sum(case when o.status = 'DELIVERED' then 1 else 0 end),
+       coalesce(sum(case when o.status = 'DELIVERED' then o.grand_total else 0 end), 0)
+from orders o
+where o.created_at is not null
+group by o.cafe_id, date(o.created_at);
@@ -0,0 +1,2 @@
+-- Optimistic lock on order status changes (OrderService.updateOrderStatus); existing orders start at 0
+alter table orders add column version bigint not null default 0;
@@ -0,0 +1,56 @@
+-- Composite indexes for the hot repository queries. Where an index leads with a foreign key
+-- column it also serves that FK, so InnoDB does not need a separate single-column index for it.
+
+-- OrderRepository: findByCafeAndStatus / findByCafe (prefix), ordered by time on the boards
+create index idx_orders_cafe_status_created on orders (cafe_id, status, created_at);
+-- OrderRepository: findByCafeAndCreatedAtBetween (reports, daily views)
+create index idx_orders_cafe_created on orders (cafe_id, created_at);
+-- OrderRepository: countByStatusIn (admin dashboard)
+create index idx_orders_status on orders (status);
+-- OrderRepository: findByCustomer (order history)
+create index idx_orders_customer_created on orders (customer_id, created_at);
+
+-- BookingRepository: findByCafeAndBookingDate / findByCafe (prefix), per-table availability
+create index idx_bookings_cafe_date_table on bookings (cafe_id, booking_date, table_id);
+-- BookingRepository: findByCustomer
+create index idx_bookings_customer_date on bookings (customer_id, booking_date);
+
+-- StaffAssignmentRepository: findByStaffAndIsActiveTrue (every staff request)
+create index idx_staff_assignments_user_active on staff_assignments (user_id, is_active);
+-- StaffAssignmentRepository: findByCafeAndIsActiveTrue / findByCafeAndRoleAndIsActiveTrue and their counts
+create index idx_staff_assignments_cafe_active_role on staff_assignments (cafe_id, is_active, assigned_role);
+
+-- UserRepository: findByEmail / existsByEmail are covered by the unique key on users.email.
+-- countByRole, countByIsActive, findByIsActiveFalseOrderByCreatedAtDesc, countByCreatedAtAfter
+create index idx_users_role on users (role);
+create index idx_users_active_created on users (is_active, created_at);
+create index idx_users_created on users (created_at);
+
+-- CafeTableRepository: countByCafeAndStatus / findByCafe (prefix), countByStatus
+create index idx_cafe_tables_cafe_status on cafe_tables (cafe_id, status);
+create index idx_cafe_tables_status on cafe_tables (status);
+
+-- CafeRepository: findByIsVerifiedTrueAndIsActiveTrue (public cafe list)
+create index idx_cafes_verified_active on cafes (is_verified, is_active);
+
+-- MenuCategoryRepository: findByCafeAndIsActiveTrueOrderByDisplayOrder / findByCafeOrderByDisplayOrder
+create index idx_menu_categories_cafe_active_order on menu_categories (cafe_id, is_active, display_order);
+
+-- MenuItemRepository: findByCafeAndCategory / findByCafe (prefix), findByCategoryAndIsAvailableTrue
+create index idx_menu_items_cafe_category on menu_items (cafe_id, category_id);
+create index idx_menu_items_category_available on menu_items (category_id, is_available);
+
+-- OrderStatusHistoryRepository: findByOrderOrderByChangedAtDesc
+create index idx_order_status_history_order_changed on order_status_history (order_id, changed_at);
+
+-- PaymentRepository: findByRazorpayOrderId, findByRazorpayPaymentId, findByOrderAndStatus, findByStatus
+create index idx_payments_razorpay_order on payments (razorpay_order_id);
+create index idx_payments_razorpay_payment on payments (razorpay_payment_id);
+create index idx_payments_order_status on payments (order_id, status);
+create index idx_payments_status on payments (status);
+
+-- EmailVerificationRepository: findByUserAndOtp / findByUser (prefix)
+create index idx_email_verifications_user_otp on email_verifications (user_id, otp);
+
+-- AuditLogRepository: findByEntityNameAndEntityId
+create index idx_audit_logs_entity on audit_logs (entity_name, entity_id);
@@ -0,0 +1,4 @@
+-- Booking overlap guard (TableAvailabilityService.reserve): the conflict re-check runs as a
+-- locking read per table and day while the cafe_tables row is locked. Without this index it
+-- would scan, and lock, every booking of the cafe for that day.
+create index idx_bookings_table_date_status on bookings (table_id, booking_date, status);
@@ -0,0 +1,6 @@
+-- BookingExpiryService reads due PENDING and finished CONFIRMED bookings in batches from the
+-- status slice of this index, ordered by slot, instead of scanning every booking
+create index idx_bookings_status_date_start on bookings (status, booking_date, start_time);
+
+-- Optimistic lock on booking status changes (the expiry job and an owner acting on the same booking)
+alter table bookings add column version bigint not null default 0;
@@ -0,0 +1,10 @@
+-- One row per background job (JobRunner). A node may run the job only while it holds the
+-- lease: it takes it with a conditional UPDATE once locked_until has passed, and hands it
+-- back by setting locked_until to now. A node that dies mid-run loses it at locked_until.
+create table job_leases (
+    job_name varchar(100) not null,
+    locked_until datetime(6) not null,
+    locked_at datetime(6) not null,
+    locked_by varchar(255) not null,
+    primary key (job_name)
+) engine=InnoDB;
@@ -0,0 +1,70 @@
+package com.brewco.benchmark;
+
+import com.brewco.entity.User;
+import com.brewco.security.AuthenticatedUser;
+import com.brewco.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil.verify on a token it has already verified (served from the cache)
+ * against the full parse and HMAC check every token paid before the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifyBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-that-is-at-least-32-characters");
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiry", 900_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiry", 900_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 10_000);
+        jwtUtil.init();
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("customer@brewco.test");
+        user.setRole("CUSTOMER");
+        user.setIsActive(true);
+        token = jwtUtil.generateToken(user);
+        jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyCached() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AuthenticatedUser verifyCachedContended() {
+        return jwtUtil.verify(token);
+    }
+
+    /** What every request cost before the cache: signature check and claims parse. */
+    @Benchmark
+    public String parseUncached() {
+        return jwtUtil.extractUsername(token);
+    }
+}
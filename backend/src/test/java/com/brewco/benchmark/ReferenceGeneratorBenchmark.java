@@ -0,0 +1,56 @@
+package com.brewco.benchmark;
+
+import com.brewco.util.ReferenceGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReferenceGenerator throughput, single-threaded and under contention on its
+ * one AtomicLong. Past 4096 ids per millisecond the generator runs ahead of
+ * the clock instead of waiting, so contended numbers are not capped there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceGeneratorBenchmark {
+
+    private ReferenceGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new ReferenceGenerator();
+        ReflectionTestUtils.setField(generator, "configuredNodeId", 1L);
+        generator.init();
+    }
+
+    @Benchmark
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long nextIdContended() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    public String orderReference() {
+        return generator.generateOrderReference();
+    }
+}
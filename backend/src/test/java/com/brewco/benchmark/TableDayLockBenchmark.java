@@ -0,0 +1,86 @@
+package com.brewco.benchmark;
+
+import com.brewco.service.TableAvailabilityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Booking writes per second through TableAvailabilityService.lockTableDay
+ * with 32 writers spread over 1 to 32 tables. Each write holds the table's
+ * stripe for a simulated 1 ms transaction, then completes it the way Spring
+ * does (afterCompletion releases the lock). Writers on one table queue;
+ * writers on different tables should not, so throughput ought to grow with
+ * the number of tables until every writer has its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(32)
+public class TableDayLockBenchmark {
+
+    private static final long WRITE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final LocalDate DATE = LocalDate.of(2030, 3, 1);
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int tables;
+
+    private TableAvailabilityService service;
+    private final AtomicInteger writers = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        service = new TableAvailabilityService();
+        ReflectionTestUtils.setField(service, "maxDays", 5000);
+        ReflectionTestUtils.setField(service, "ttlMinutes", 30L);
+        ReflectionTestUtils.setField(service, "lockStripes", 256);
+        ReflectionTestUtils.setField(service, "lockTimeoutMs", 60_000L);
+        service.init();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+
+        long tableId;
+
+        @Setup(Level.Trial)
+        public void pickTable(TableDayLockBenchmark benchmark) {
+            tableId = 1 + benchmark.writers.getAndIncrement() % benchmark.tables;
+        }
+    }
+
+    @Benchmark
+    public void bookTable(Writer writer) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.lockTableDay(writer.tableId, DATE);
+            LockSupport.parkNanos(WRITE_NANOS);
+        } finally {
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.brewco.config;
+
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.MySQLSqlAstTranslator;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.SqlAstTranslatorFactory;
+import org.hibernate.sql.ast.spi.StandardSqlAstTranslatorFactory;
+import org.hibernate.sql.ast.tree.Statement;
+import org.hibernate.sql.exec.spi.JdbcOperation;
+
+/**
+ * MySQL SQL for the H2 test database, except for shared locks: H2 has no
+ * FOR SHARE, so locking reads (PESSIMISTIC_READ) take FOR UPDATE instead.
+ */
+public class H2MySQLDialect extends MySQLDialect {
+
+    public H2MySQLDialect() {
+        super();
+    }
+
+    public H2MySQLDialect(DialectResolutionInfo info) {
+        super(info);
+    }
+
+    @Override
+    public SqlAstTranslatorFactory getSqlAstTranslatorFactory() {
+        return new StandardSqlAstTranslatorFactory() {
+            @Override
+            protected <T extends JdbcOperation> SqlAstTranslator<T> buildTranslator(
+                    SessionFactoryImplementor sessionFactory, Statement statement) {
+                return new MySQLSqlAstTranslator<>(sessionFactory, statement) {
+                    @Override
+                    protected String getForShare(int timeoutMillis) {
+                        return getForUpdate();
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.brewco.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The region policies Caffeine actually builds from application.conf, after
+ * merging each region with caffeine.jcache.default.
+ */
+class SecondLevelCacheConfigTest {
+
+    private final Config config = ConfigFactory.load();
+
+    @Test
+    void entityRegionsAreBoundedAndExpire() {
+        for (String region : List.of("cafes", "menu-categories", "menu-items", "cafe-tables", "staff-assignments")) {
+            CaffeineConfiguration<?, ?> configuration = region(region);
+            assertThat(configuration.getMaximumSize()).as(region).hasValue(10_000);
+            assertThat(configuration.getExpireAfterWrite()).as(region).hasValue(TimeUnit.MINUTES.toNanos(30));
+        }
+    }
+
+    @Test
+    void updateTimestampsAreNeitherBoundedNorExpired() {
+        CaffeineConfiguration<?, ?> configuration = region("default-update-timestamps-region");
+        assertThat(configuration.getMaximumSize()).isEmpty();
+        assertThat(configuration.getMaximumWeight()).isEmpty();
+        assertThat(configuration.getExpireAfterWrite()).isEmpty();
+        assertThat(configuration.getExpireAfterAccess()).isEmpty();
+        assertThat(configuration.getExpiryPolicyFactory().create().getExpiryForCreation().isEternal()).isTrue();
+    }
+
+    private CaffeineConfiguration<?, ?> region(String name) {
+        return TypesafeConfigurator.<Object, Object>from(config, name).orElseThrow();
+    }
+}
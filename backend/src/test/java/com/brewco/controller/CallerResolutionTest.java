@@ -0,0 +1,161 @@
+package com.brewco.controller;
+
+import com.brewco.config.CapturingStatementInspector;
+import com.brewco.repository.UserRepository;
+import com.brewco.security.JwtUtil;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Controllers take the caller from the token's claims: no request looks the
+ * user up by email. Write endpoints hand out entity references for the
+ * caller, so they are also checked to still render their response.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:caller_resolution;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.brewco.config.CapturingStatementInspector"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CallerResolutionTest {
+
+    private static final long CAFE = 940;
+    private static final long CUSTOMER = 940;
+    private static final long OWNER = 941;
+    private static final long CHEF = 942;
+    private static final long WAITER = 943;
+
+    /** Hibernate renders a lookup by email as "<alias>.email=?". */
+    private static final Pattern EMAIL_LOOKUP = Pattern.compile("(?i)\\.email\\s*=\\s*\\?");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final Map<Long, String> tokens = new LinkedHashMap<>();
+
+    @BeforeAll
+    void seed() {
+        user(CUSTOMER, "CUSTOMER");
+        user(OWNER, "CAFE_OWNER");
+        user(CHEF, "CHEF");
+        user(WAITER, "WAITER");
+        jdbcTemplate.update("INSERT INTO cafes (id, is_active, is_verified, owner_id, address, name) " +
+                "VALUES (?, TRUE, TRUE, ?, 'Main Street', 'Caller Cafe')", CAFE, OWNER);
+        jdbcTemplate.update("INSERT INTO cafe_tables (id, capacity, is_available, table_number, cafe_id, status, table_type) " +
+                "VALUES (940, 4, TRUE, 1, ?, 'AVAILABLE', 'STANDARD')", CAFE);
+        jdbcTemplate.update("INSERT INTO menu_categories (id, display_order, is_active, cafe_id, name) " +
+                "VALUES (940, 1, TRUE, ?, 'Coffee')", CAFE);
+        jdbcTemplate.update("INSERT INTO menu_items (id, is_available, price, cafe_id, category_id, name, type) " +
+                "VALUES (940, TRUE, 5, ?, 940, 'Espresso', 'VEG')", CAFE);
+        for (long staff : new long[] {CHEF, WAITER}) {
+            jdbcTemplate.update("INSERT INTO staff_assignments (is_active, assigned_at, assigned_by, cafe_id, user_id, assigned_role) " +
+                    "VALUES (TRUE, NOW(), ?, ?, ?, ?)", OWNER, CAFE, staff, staff == CHEF ? "CHEF" : "WAITER");
+        }
+        jdbcTemplate.update("INSERT INTO bookings (id, booking_date, start_time, end_time, number_of_guests, cafe_id, " +
+                "customer_id, table_id, status, booking_ref) VALUES (940, DATE '2030-03-01', TIME '19:00:00', " +
+                "TIME '20:00:00', 2, ?, ?, 940, 'CONFIRMED', 'BK-940')", CAFE, CUSTOMER);
+
+        order(940, "DELIVERED", CHEF, WAITER);
+        order(941, "PLACED", null, null);          // owner confirms
+        order(942, "CONFIRMED", CHEF, WAITER);     // waiter sends to kitchen
+        order(943, "SENT_TO_KITCHEN", null, null); // chef takes an unassigned order
+        order(944, "PREPARING", CHEF, WAITER);     // chef marks ready
+        order(945, "PLACED", null, null);          // customer cancels
+
+        for (long userId : new long[] {CUSTOMER, OWNER, CHEF, WAITER}) {
+            tokens.put(userId, jwtUtil.generateToken(userRepository.findById(userId).orElseThrow()));
+        }
+    }
+
+    @Test
+    void readsDoNotLookUpTheCaller() throws Exception {
+        assertNoEmailLookup(CUSTOMER, get("/api/customer/orders"));
+        assertNoEmailLookup(CUSTOMER, get("/api/customer/bookings"));
+        assertNoEmailLookup(CUSTOMER, get("/api/customer/orders/940"));
+        assertNoEmailLookup(CUSTOMER, get("/api/payments/status/940"));
+        assertNoEmailLookup(OWNER, get("/api/cafe-owner/cafes"));
+        assertNoEmailLookup(OWNER, get("/api/cafe-owner/cafes/940/orders"));
+        assertNoEmailLookup(CHEF, get("/api/chef/orders"));
+        assertNoEmailLookup(CHEF, get("/api/chef/orders/history"));
+        assertNoEmailLookup(WAITER, get("/api/waiter/orders"));
+    }
+
+    @Test
+    void writesRecordTheCallerAndStillRender() throws Exception {
+        assertNoEmailLookup(OWNER, put("/api/cafe-owner/cafes/940/orders/941/confirm"));
+        assertNoEmailLookup(WAITER, put("/api/waiter/orders/942/send-to-kitchen"));
+        assertNoEmailLookup(CHEF, put("/api/chef/orders/943/start"));
+        assertNoEmailLookup(CHEF, put("/api/chef/orders/944/ready"));
+        assertNoEmailLookup(CUSTOMER, put("/api/customer/orders/945/cancel"));
+
+        assertThat(changedBy(941, "CONFIRMED")).isEqualTo(OWNER);
+        assertThat(changedBy(942, "SENT_TO_KITCHEN")).isEqualTo(WAITER);
+        assertThat(changedBy(943, "PREPARING")).isEqualTo(CHEF);
+        assertThat(changedBy(944, "READY")).isEqualTo(CHEF);
+        assertThat(changedBy(945, "CANCELLED")).isEqualTo(CUSTOMER);
+        assertThat(jdbcTemplate.queryForObject("SELECT assigned_chef_id FROM orders WHERE id = 943", Long.class))
+                .isEqualTo(CHEF);
+    }
+
+    private void assertNoEmailLookup(long caller, MockHttpServletRequestBuilder request) throws Exception {
+        CapturingStatementInspector.clear();
+        MvcResult result = mockMvc.perform(request.cookie(new Cookie("access_token", tokens.get(caller)))).andReturn();
+        String description = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+
+        String body = result.getResponse().getContentAsString();
+        assertThat(result.getResolvedException()).as(description).isNull();
+        assertThat(body).as(description).doesNotContain("could not initialize proxy");
+        assertThat(result.getResponse().getStatus()).as("%s -> %s", description, body).isEqualTo(200);
+        assertThat(CapturingStatementInspector.statements()).as(description)
+                .noneMatch(sql -> EMAIL_LOOKUP.matcher(sql).find());
+    }
+
+    private void user(long id, String role) {
+        jdbcTemplate.update("INSERT INTO users (id, created_at, email, first_name, last_name, gender, role, is_active, " +
+                "is_email_verified, is_profile_complete) VALUES (?, NOW(), ?, 'Caller', 'User', 'OTHER', ?, TRUE, TRUE, TRUE)",
+                id, role.toLowerCase() + id + "@brewco.test", role);
+    }
+
+    private void order(long id, String status, Long chef, Long waiter) {
+        jdbcTemplate.update("INSERT INTO orders (id, order_ref, grand_total, total_amount, cafe_id, customer_id, " +
+                "table_id, assigned_chef_id, assigned_waiter_id, created_at, order_type, payment_status, status, version) " +
+                "VALUES (?, ?, 5, 5, ?, ?, 940, ?, ?, NOW(), 'DINE_IN', 'PAID', ?, 0)",
+                id, "ORD-" + id, CAFE, CUSTOMER, chef, waiter, status);
+        jdbcTemplate.update("INSERT INTO order_items (quantity, sub_total, unit_price, menu_item_id, order_id, status) " +
+                "VALUES (1, 5, 5, 940, ?, 'PENDING')", id);
+    }
+
+    private long changedBy(long orderId, String status) {
+        return jdbcTemplate.queryForObject("SELECT changed_by_id FROM order_status_history WHERE order_id = ? AND status = ?",
+                Long.class, orderId, status);
+    }
+}
@@ -0,0 +1,176 @@
+package com.brewco.controller;
+
+import com.brewco.repository.UserRepository;
+import com.brewco.security.JwtUtil;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Calls every GET endpoint with data behind each of its associations and
+ * checks the response renders. Open-in-view is off, so the JSON is written
+ * after the service transaction has closed: anything lazy that a response
+ * touches fails here with a LazyInitializationException instead of in
+ * production.
+ *
+ * Endpoints are discovered from the handler mapping, so new ones are covered
+ * without touching this test. Every seeded row a path can point at has id
+ * 930, so each {variable} is filled with that. Event streams are skipped
+ * (they send events, not a serialized body), as is /api/debug.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+        "spring.datasource.url=jdbc:h2:mem:read_endpoints;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadEndpointSerializationTest {
+
+    private static final long ID = 930;
+    private static final long OWNER = 931;
+    private static final long CHEF = 932;
+    private static final long WAITER = 933;
+    private static final long ADMIN = 934;
+
+    /** Which user calls an endpoint, by path prefix; anything else goes as the customer (id 930). */
+    private static final Map<String, Long> CALLER_BY_PREFIX = new LinkedHashMap<>();
+
+    static {
+        CALLER_BY_PREFIX.put("/api/admin", ADMIN);
+        CALLER_BY_PREFIX.put("/api/cafe-owner", OWNER);
+        CALLER_BY_PREFIX.put("/api/owner", OWNER);
+        CALLER_BY_PREFIX.put("/api/chef", CHEF);
+        CALLER_BY_PREFIX.put("/api/waiter", WAITER);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final Map<Long, String> tokens = new LinkedHashMap<>();
+
+    @BeforeAll
+    void seed() {
+        user(ID, "CUSTOMER");
+        user(OWNER, "CAFE_OWNER");
+        user(CHEF, "CHEF");
+        user(WAITER, "WAITER");
+        user(ADMIN, "ADMIN");
+        jdbcTemplate.update("INSERT INTO cafes (id, is_active, is_verified, owner_id, address, name, opening_time, closing_time) " +
+                "VALUES (?, TRUE, TRUE, ?, 'Main Street', 'Read Cafe', TIME '08:00:00', TIME '22:00:00')", ID, OWNER);
+        jdbcTemplate.update("INSERT INTO cafes (id, is_active, is_verified, owner_id, address, name) " +
+                "VALUES (931, TRUE, FALSE, ?, 'Side Street', 'Pending Cafe')", OWNER);
+        jdbcTemplate.update("INSERT INTO cafe_tables (id, capacity, is_available, table_number, cafe_id, status, table_type) " +
+                "VALUES (?, 4, TRUE, 1, ?, 'AVAILABLE', 'STANDARD')", ID, ID);
+        jdbcTemplate.update("INSERT INTO menu_categories (id, display_order, is_active, cafe_id, name) " +
+                "VALUES (?, 1, TRUE, ?, 'Coffee')", ID, ID);
+        jdbcTemplate.update("INSERT INTO menu_items (id, is_available, price, cafe_id, category_id, name, type) " +
+                "VALUES (?, TRUE, 5, ?, ?, 'Espresso', 'VEG')", ID, ID, ID);
+        for (long staff : new long[] {CHEF, WAITER}) {
+            jdbcTemplate.update("INSERT INTO staff_assignments (is_active, assigned_at, assigned_by, cafe_id, user_id, assigned_role) " +
+                    "VALUES (TRUE, NOW(), ?, ?, ?, ?)", OWNER, ID, staff, staff == CHEF ? "CHEF" : "WAITER");
+        }
+        jdbcTemplate.update("INSERT INTO bookings (id, booking_date, start_time, end_time, number_of_guests, cafe_id, " +
+                "customer_id, table_id, status, booking_ref) VALUES (?, DATE '2030-03-01', TIME '19:00:00', " +
+                "TIME '20:00:00', 2, ?, ?, ?, 'CONFIRMED', 'BK-930')", ID, ID, ID, ID);
+
+        // One order in every status a board, history or list shows, all with the full set of relations
+        String[] statuses = {"PLACED", "SENT_TO_KITCHEN", "PREPARING", "READY", "DELIVERED"};
+        for (int i = 0; i < statuses.length; i++) {
+            long orderId = ID + i;
+            jdbcTemplate.update("INSERT INTO orders (id, order_ref, grand_total, total_amount, cafe_id, customer_id, " +
+                    "table_id, booking_id, assigned_chef_id, assigned_waiter_id, created_at, order_type, payment_status, " +
+                    "status, version) VALUES (?, ?, 5, 5, ?, ?, ?, ?, ?, ?, NOW(), 'DINE_IN', 'PAID', ?, 0)",
+                    orderId, "ORD-" + orderId, ID, ID, ID, ID, CHEF, WAITER, statuses[i]);
+            jdbcTemplate.update("INSERT INTO order_items (quantity, sub_total, unit_price, menu_item_id, order_id, status) " +
+                    "VALUES (1, 5, 5, ?, ?, 'PENDING')", ID, orderId);
+            jdbcTemplate.update("INSERT INTO order_status_history (changed_at, changed_by_id, order_id, status) " +
+                    "VALUES (NOW(), ?, ?, ?)", ID, orderId, statuses[i]);
+            jdbcTemplate.update("INSERT INTO payments (amount, currency, created_at, order_id, payment_method, status) " +
+                    "VALUES (5, 'INR', NOW(), ?, 'RAZORPAY', 'COMPLETED')", orderId);
+        }
+
+        for (long userId : new long[] {ID, OWNER, CHEF, WAITER, ADMIN}) {
+            tokens.put(userId, jwtUtil.generateToken(userRepository.findById(userId).orElseThrow()));
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> everyReadEndpointSerializesOutsideItsTransaction() {
+        return handlerMapping.getHandlerMethods().keySet().stream()
+                .filter(ReadEndpointSerializationTest::isSerializedRead)
+                .flatMap(info -> info.getPatternValues().stream())
+                .filter(path -> path.startsWith("/api/") && !path.startsWith("/api/debug"))
+                .sorted()
+                .map(path -> DynamicTest.dynamicTest("GET " + path, () -> assertRenders(path)));
+    }
+
+    private void assertRenders(String pattern) throws Exception {
+        String path = pattern.replaceAll("\\{[^}]+}", String.valueOf(ID));
+        long caller = CALLER_BY_PREFIX.entrySet().stream()
+                .filter(entry -> path.startsWith(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(ID);
+
+        MvcResult result = mockMvc.perform(get(path)
+                        // Only the table search needs these; other endpoints ignore them
+                        .param("date", "2030-03-01").param("time", "18:00").param("guests", "2")
+                        .cookie(new Cookie("access_token", tokens.get(caller))))
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertThat(result.getResolvedException()).as("GET %s", path).isNull();
+        assertThat(body).as("GET %s", path)
+                .doesNotContain("LazyInitialization")
+                .doesNotContain("could not initialize proxy")
+                .doesNotContain("no Session");
+        assertThat(result.getResponse().getStatus()).as("GET %s -> %s", path, body).isEqualTo(200);
+    }
+
+    private void user(long id, String role) {
+        jdbcTemplate.update("INSERT INTO users (id, created_at, email, first_name, last_name, gender, role, is_active, " +
+                "is_email_verified, is_profile_complete) VALUES (?, NOW(), ?, 'Read', 'User', 'OTHER', ?, TRUE, TRUE, TRUE)",
+                id, role.toLowerCase() + id + "@brewco.test", role);
+    }
+
+    private static boolean isSerializedRead(RequestMappingInfo info) {
+        return info.getMethodsCondition().getMethods().contains(RequestMethod.GET)
+                && info.getProducesCondition().getProducibleMediaTypes().stream()
+                        .noneMatch(MediaType.TEXT_EVENT_STREAM::includes);
+    }
+}
@@ -0,0 +1,86 @@
+package com.brewco.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application against a database that predates Flyway: the V1
+ * schema with orders already in it and no flyway_schema_history. Flyway has
+ * to baseline it at V1 and apply the rest, after which Hibernate's validate
+ * must pass (the context would not start otherwise).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BaselineUpgradeTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:baseline_upgrade;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:db/migration/V1__baseline_schema.sql'");
+            statement.execute("INSERT INTO users (id, created_at, email, first_name, last_name, gender, role) VALUES " +
+                    "(1, NOW(), 'owner@brewco.test', 'Cafe', 'Owner', 'OTHER', 'CAFE_OWNER'), " +
+                    "(2, NOW(), 'customer@brewco.test', 'Some', 'Customer', 'OTHER', 'CUSTOMER')");
+            statement.execute("INSERT INTO cafes (id, is_active, is_verified, owner_id, address, name) VALUES " +
+                    "(1, TRUE, TRUE, 1, 'Main Street', 'Legacy Cafe')");
+            statement.execute("INSERT INTO orders (id, grand_total, total_amount, cafe_id, customer_id, created_at, " +
+                    "order_type, payment_status, status) VALUES " +
+                    "(7, 100.00, 100.00, 1, 2, TIMESTAMP '2024-05-01 10:00:00', 'DINE_IN', 'PAID', 'DELIVERED'), " +
+                    "(8, 40.00, 40.00, 1, 2, TIMESTAMP '2024-05-01 11:00:00', 'DINE_IN', 'PAID', 'DELIVERED'), " +
+                    "(9, 60.00, 60.00, 1, 2, TIMESTAMP '2024-05-02 09:00:00', 'TAKEAWAY', 'PENDING', 'PENDING')");
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void legacyDatabaseIsBaselinedAndMigrated() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM flyway_schema_history WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"", String.class))
+                .containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9", "10");
+        assertThat(jdbcTemplate.queryForObject("SELECT \"type\" FROM flyway_schema_history WHERE \"version\" = '1'", String.class))
+                .isEqualTo("BASELINE");
+    }
+
+    @Test
+    void orderIdGeneratorsStartPastExistingIds() {
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM orders_seq", Long.class)).isEqualTo(60L);
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM order_items_seq", Long.class)).isEqualTo(51L);
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM order_status_history_seq", Long.class)).isEqualTo(51L);
+    }
+
+    @Test
+    void existingOrdersAreCountedInTheAggregates() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT order_count FROM cafe_status_totals WHERE cafe_id = 1 AND status = 'DELIVERED'", Long.class))
+                .isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT orders_delivered FROM cafe_daily_stats WHERE cafe_id = 1 AND stats_date = DATE '2024-05-01'", Long.class))
+                .isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT delivered_revenue FROM cafe_daily_stats WHERE cafe_id = 1 AND stats_date = DATE '2024-05-01'", Long.class))
+                .isEqualTo(140L);
+    }
+
+    @Test
+    void existingOrdersStartAtVersionZero() {
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM orders ORDER BY id", Long.class))
+                .containsExactly(0L, 0L, 0L);
+    }
+}
@@ -0,0 +1,211 @@
+package com.brewco.repository;
+
+import com.brewco.config.CapturingStatementInspector;
+import com.brewco.entity.Cafe;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls the hot repository methods, captures the SQL Hibernate sends for
+ * each (CapturingStatementInspector), and runs EXPLAIN on it against the
+ * migrated schema: each must be answered from the index built for it, not a
+ * table scan or a single-column foreign key index.
+ *
+ * Uses its own database, filled with production-like row counts and
+ * analyzed (db/query-plan-data.sql): on empty tables every index costs the
+ * same and the planner's pick says nothing. InnoDB drops the index it created
+ * for a foreign key once a V6 index leads with the same column; H2 can only
+ * back a foreign key with an index of exactly its columns, so this database
+ * drops those foreign keys instead to end up with the indexes MySQL has.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.brewco.config.CapturingStatementInspector"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIndexTest {
+
+    // Rows from db/query-plan-data.sql
+    private static final long CAFE = 100001;
+    private static final long CUSTOMER = 100201;
+    private static final long STAFF = 100041;
+    private static final long TABLE = 100001;
+    private static final long ORDER = 100001;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private StaffAssignmentRepository staffAssignmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CafeRepository cafeRepository;
+
+    @Autowired
+    private MenuCategoryRepository menuCategoryRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void loadPlanData() throws Exception {
+        // Foreign keys whose column leads one of the V6 indexes
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT DISTINCT fk.table_name, fk.constraint_name " +
+                "FROM information_schema.referential_constraints rc " +
+                "JOIN information_schema.key_column_usage fk ON fk.constraint_name = rc.constraint_name " +
+                "JOIN information_schema.index_columns ic ON ic.table_name = fk.table_name " +
+                "AND ic.column_name = fk.column_name AND ic.ordinal_position = 1 AND ic.index_name LIKE 'idx\\_%' " +
+                "WHERE fk.table_schema = 'public'");
+        for (Map<String, Object> fk : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + fk.get("table_name") + " DROP CONSTRAINT " + fk.get("constraint_name"));
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/query-plan-data.sql"));
+        }
+    }
+
+    Stream<Arguments> hotQueries() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        PageRequest page = PageRequest.of(0, 50);
+        return Stream.of(
+                hotQuery("OrderRepository.findCustomerOrderPage", "idx_orders_customer_created",
+                        () -> orderRepository.findCustomerOrderPage(CUSTOMER, now, Long.MAX_VALUE, page)),
+                hotQuery("OrderRepository.findCafeOrderPageByStatus", "idx_orders_cafe_status_created",
+                        () -> orderRepository.findCafeOrderPageByStatus(CAFE, "DELIVERED", now, Long.MAX_VALUE, page)),
+                hotQuery("OrderRepository.findCafeOrderPage", "idx_orders_cafe_created",
+                        () -> orderRepository.findCafeOrderPage(CAFE, now, Long.MAX_VALUE, page)),
+                hotQuery("OrderRepository.findByCafeAndStatusIn", "idx_orders_cafe_status_created",
+                        () -> orderRepository.findByCafeAndStatusIn(cafe(),
+                                List.of("SENT_TO_KITCHEN", "PREPARING", "READY"))),
+                hotQuery("OrderRepository.findByCafeAndStatusAndAssignedWaiter", "idx_orders_cafe_status_created",
+                        () -> orderRepository.findByCafeAndStatusAndAssignedWaiter(cafe(), "DELIVERED",
+                                userRepository.getReferenceById(CUSTOMER))),
+                hotQuery("OrderRepository.countByStatusIn", "idx_orders_status",
+                        () -> orderRepository.countByStatusIn(
+                                List.of("PLACED", "CONFIRMED", "SENT_TO_KITCHEN", "PREPARING", "READY"))),
+                hotQuery("BookingRepository.findSlotsByCafeIdAndDate", "idx_bookings_cafe_date_table",
+                        () -> bookingRepository.findSlotsByCafeIdAndDate(CAFE, now.toLocalDate(),
+                                List.of("PENDING", "CONFIRMED"))),
+                hotQuery("BookingRepository.findByCafe", "idx_bookings_cafe_date_table",
+                        () -> bookingRepository.findByCafe(cafe())),
+                hotQuery("BookingRepository.findByCustomer", "idx_bookings_customer_date",
+                        () -> bookingRepository.findByCustomer(userRepository.getReferenceById(CUSTOMER))),
+                hotQuery("BookingRepository.findOverlappingIds", "idx_bookings_table_date_status_start",
+                        () -> bookingRepository.findOverlappingIds(TABLE, now.toLocalDate(), LocalTime.of(18, 0),
+                                LocalTime.of(19, 0), List.of("PENDING", "CONFIRMED"), 0L)),
+                hotQuery("BookingRepository.findExpiredPending", "idx_bookings_status_date_start",
+                        () -> bookingRepository.findExpiredPending(now.minusDays(1), now.toLocalDate(),
+                                now.toLocalTime(), LocalDate.of(1000, 1, 1), LocalTime.MIN, 0L, page)),
+                hotQuery("BookingRepository.findFinishedConfirmed", "idx_bookings_status_date_start",
+                        () -> bookingRepository.findFinishedConfirmed(now.toLocalDate(), now.toLocalTime(),
+                                LocalDate.of(1000, 1, 1), LocalTime.MIN, 0L, page)),
+                hotQuery("StaffAssignmentRepository.findActiveCafeIdsByStaffId", "idx_staff_assignments_user_active",
+                        () -> staffAssignmentRepository.findActiveCafeIdsByStaffId(STAFF)),
+                hotQuery("StaffAssignmentRepository.findByStaffAndIsActiveTrue", "idx_staff_assignments_user_active",
+                        () -> staffAssignmentRepository.findByStaffAndIsActiveTrue(userRepository.getReferenceById(STAFF))),
+                hotQuery("StaffAssignmentRepository.findByCafeAndIsActiveTrue", "idx_staff_assignments_cafe_active_role",
+                        () -> staffAssignmentRepository.findByCafeAndIsActiveTrue(cafe())),
+                hotQuery("UserRepository.findByEmail", "uk_6dotkott2kjsp8vw4d0m25fb7",
+                        () -> userRepository.findByEmail("user300@plan.test")),
+                hotQuery("MenuCategoryRepository.findByCafeAndIsActiveTrueOrderByDisplayOrder",
+                        "idx_menu_categories_cafe_active_order",
+                        () -> menuCategoryRepository.findByCafeAndIsActiveTrueOrderByDisplayOrder(cafe())),
+                hotQuery("PaymentRepository.findByOrder", "idx_payments_order_status",
+                        () -> paymentRepository.findByOrder(orderRepository.getReferenceById(ORDER))),
+                hotQuery("EmailOutboxRepository.findDueIds", "idx_email_outbox_status_next",
+                        () -> emailOutboxRepository.findDueIds(now, page)),
+                hotQuery("EmailOutboxRepository.findFinishedIdsBefore", "idx_email_outbox_status_next",
+                        () -> emailOutboxRepository.findFinishedIdsBefore(now, page)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesItsIndex(String query, String index, Runnable call) {
+        String sql = capture(call);
+        String plan = explain(sql).toLowerCase();
+
+        assertThat(plan).as(query + " plan for: " + sql).doesNotContain("tablescan").contains(index);
+    }
+
+    private static Arguments hotQuery(String query, String index, Runnable call) {
+        return Arguments.of(query, index, call);
+    }
+
+    private Cafe cafe() {
+        return cafeRepository.getReferenceById(CAFE);
+    }
+
+    /**
+     * The query Hibernate sends for the call, with its ? placeholders. Any
+     * statements after it load eager associations by primary key.
+     */
+    private String capture(Runnable call) {
+        CapturingStatementInspector.clear();
+        transactionTemplate.executeWithoutResult(status -> call.run());
+        List<String> statements = CapturingStatementInspector.statements();
+        assertThat(statements).isNotEmpty();
+        return statements.get(0);
+    }
+
+    /**
+     * H2 plans a prepared statement before its parameters are bound, so the
+     * plan shown with every parameter left NULL is the one any values get.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement statement) -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+}
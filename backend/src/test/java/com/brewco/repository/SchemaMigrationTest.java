@@ -0,0 +1,14 @@
+package com.brewco.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Test
+    void migrationsBuildTheSchemaTheEntitiesExpect() {
+    }
+}
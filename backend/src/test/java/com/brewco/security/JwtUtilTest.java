@@ -0,0 +1,91 @@
+package com.brewco.security;
+
+import com.brewco.entity.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-that-is-at-least-32-characters-long";
+
+    @Test
+    void cachedTokenIsNotParsedAgain() {
+        JwtUtil jwtUtil = jwtUtil(60_000);
+        JwtParser parser = countParses(jwtUtil);
+        String token = jwtUtil.generateToken(user());
+
+        AuthenticatedUser first = jwtUtil.verify(token);
+        for (int i = 0; i < 100; i++) {
+            assertThat(jwtUtil.verify(token)).isSameAs(first);
+        }
+
+        verify(parser, times(1)).parseSignedClaims(anyString());
+        assertThat(first.getId()).isEqualTo(42L);
+        assertThat(first.getRole()).isEqualTo("CUSTOMER");
+    }
+
+    @Test
+    void expiredTokenIsRejectedOnceItsTtlHasPassed() throws Exception {
+        JwtUtil jwtUtil = jwtUtil(1_000);
+        JwtParser parser = countParses(jwtUtil);
+        String token = jwtUtil.generateToken(user());
+
+        jwtUtil.verify(token);
+        jwtUtil.verify(token);
+        verify(parser, times(1)).parseSignedClaims(anyString());
+
+        // exp is stored in whole seconds, so it can fall up to a second before issuedAt + 1000 ms
+        Thread.sleep(1_500);
+
+        assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        verify(parser, times(2)).parseSignedClaims(anyString());
+    }
+
+    @Test
+    void tamperedTokenIsRejectedAndNotCached() {
+        JwtUtil jwtUtil = jwtUtil(60_000);
+        String token = jwtUtil.generateToken(user());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtUtil.verify(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    private static JwtUtil jwtUtil(long accessTokenExpiryMs) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiry", accessTokenExpiryMs);
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiry", accessTokenExpiryMs);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 10_000);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("customer@brewco.test");
+        user.setRole("customer");
+        user.setIsActive(true);
+        return user;
+    }
+
+    /** Swaps in a parser that records its calls and then does the real parse. */
+    private static JwtParser countParses(JwtUtil jwtUtil) {
+        JwtParser real = (JwtParser) ReflectionTestUtils.getField(jwtUtil, "parser");
+        JwtParser counting = mock(JwtParser.class, delegatesTo(real));
+        ReflectionTestUtils.setField(jwtUtil, "parser", counting);
+        return counting;
+    }
+}
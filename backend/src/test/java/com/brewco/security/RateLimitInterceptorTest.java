@@ -0,0 +1,71 @@
+package com.brewco.security;
+
+import com.brewco.exception.RateLimitException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitInterceptorTest {
+
+    private static final int LOGIN_LIMIT = 5;
+    private static final String PROXY = "10.0.0.2";
+
+    @Test
+    void spoofedForwardedForFromAClientIsIgnored() {
+        RateLimitInterceptor interceptor = interceptor(Set.of(PROXY));
+
+        for (int i = 0; i < LOGIN_LIMIT; i++) {
+            login(interceptor, "203.0.113.7", "198.51.100." + i);
+        }
+
+        assertThatThrownBy(() -> login(interceptor, "203.0.113.7", "198.51.100.99"))
+                .isInstanceOf(RateLimitException.class);
+    }
+
+    @Test
+    void onlyTheHopOurProxyAddedCountsBehindATrustedProxy() {
+        RateLimitInterceptor interceptor = interceptor(Set.of(PROXY));
+
+        for (int i = 0; i < LOGIN_LIMIT; i++) {
+            login(interceptor, PROXY, "198.51.100." + i + ", 203.0.113.7");
+        }
+
+        assertThatThrownBy(() -> login(interceptor, PROXY, "198.51.100.99, 203.0.113.7"))
+                .isInstanceOf(RateLimitException.class);
+        assertThatCode(() -> login(interceptor, PROXY, "203.0.113.8")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void forwardedForIsIgnoredWhenNoProxyIsTrusted() {
+        RateLimitInterceptor interceptor = interceptor(Set.of());
+
+        for (int i = 0; i < LOGIN_LIMIT; i++) {
+            login(interceptor, PROXY, "198.51.100." + i);
+        }
+
+        assertThatThrownBy(() -> login(interceptor, PROXY, "198.51.100.99"))
+                .isInstanceOf(RateLimitException.class);
+    }
+
+    private static RateLimitInterceptor interceptor(Set<String> trustedProxies) {
+        LocalRateLimitBucketStore store = new LocalRateLimitBucketStore();
+        ReflectionTestUtils.setField(store, "maxBuckets", 100_000);
+        ReflectionTestUtils.setField(store, "idleTtlMinutes", 60L);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(store);
+        ReflectionTestUtils.setField(interceptor, "trustedProxies", trustedProxies);
+        return interceptor;
+    }
+
+    private static void login(RateLimitInterceptor interceptor, String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+    }
+}
@@ -0,0 +1,162 @@
+package com.brewco.service;
+
+import com.brewco.entity.Cafe;
+import com.brewco.entity.Order;
+import com.brewco.entity.OrderItem;
+import com.brewco.entity.User;
+import com.brewco.repository.CafeRepository;
+import com.brewco.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Staff boards load their orders with everything the board shows in one
+ * statement (Order.BOARD_GRAPH), however many orders, items, customers and
+ * staff are on it. Counted with Hibernate statistics, after which the test
+ * walks every association the board serializes: none may hit the database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:board_queries;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BoardQueryCountTest {
+
+    private static final long CAFE = 920;
+    private static final long WAITER = 925;
+    private static final List<String> STATUSES = List.of("SENT_TO_KITCHEN", "PREPARING", "READY");
+    private static final int ORDERS_PER_STATUS = 8;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CafeRepository cafeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Cafe cafe;
+
+    @BeforeAll
+    void seedBoard() {
+        // Owner, three customers, a chef (924) and a waiter (925)
+        for (long id = 920; id <= 925; id++) {
+            jdbcTemplate.update("INSERT INTO users (id, created_at, email, first_name, last_name, gender, role) " +
+                    "VALUES (?, NOW(), ?, 'Board', 'User', 'OTHER', 'CUSTOMER')", id, "board" + id + "@brewco.test");
+        }
+        jdbcTemplate.update("INSERT INTO cafes (id, is_active, is_verified, owner_id, address, name) " +
+                "VALUES (?, TRUE, TRUE, 920, 'Main Street', 'Board Cafe')", CAFE);
+        jdbcTemplate.update("INSERT INTO cafe_tables (id, capacity, is_available, table_number, cafe_id, status, table_type) " +
+                "VALUES (920, 4, TRUE, 1, ?, 'OCCUPIED', 'STANDARD')", CAFE);
+        jdbcTemplate.update("INSERT INTO bookings (id, booking_date, start_time, number_of_guests, cafe_id, customer_id, " +
+                "table_id, status) VALUES (920, DATE '2026-01-01', TIME '19:00:00', 2, ?, 921, 920, 'CONFIRMED')", CAFE);
+        for (long category = 920; category <= 921; category++) {
+            jdbcTemplate.update("INSERT INTO menu_categories (id, display_order, is_active, cafe_id, name) " +
+                    "VALUES (?, 1, TRUE, ?, 'Category')", category, CAFE);
+        }
+        for (long item = 920; item <= 923; item++) {
+            jdbcTemplate.update("INSERT INTO menu_items (id, is_available, price, cafe_id, category_id, name, type) " +
+                    "VALUES (?, TRUE, 5, ?, ?, 'Item', 'VEG')", item, CAFE, 920 + item % 2);
+        }
+
+        long orderId = 920;
+        for (String status : STATUSES) {
+            for (int i = 0; i < ORDERS_PER_STATUS; i++, orderId++) {
+                jdbcTemplate.update("INSERT INTO orders (id, grand_total, total_amount, cafe_id, customer_id, table_id, " +
+                        "booking_id, assigned_chef_id, assigned_waiter_id, created_at, order_type, payment_status, " +
+                        "status, version) VALUES (?, 15, 15, ?, ?, 920, ?, 924, ?, NOW(), 'DINE_IN', 'PAID', ?, 0)",
+                        orderId, CAFE, 921 + orderId % 3, i == 0 ? 920L : null, i % 2 == 0 ? WAITER : null, status);
+                for (int line = 0; line < ITEMS_PER_ORDER; line++) {
+                    jdbcTemplate.update("INSERT INTO order_items (quantity, sub_total, unit_price, menu_item_id, " +
+                            "order_id, status) VALUES (1, 5, 5, ?, ?, 'PENDING')", 920 + (orderId + line) % 4, orderId);
+                }
+            }
+        }
+        cafe = cafeRepository.findById(CAFE).orElseThrow();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @BeforeEach
+    void clearEverythingCached() {
+        // A cold second-level cache, so cached cafes or menu items cannot hide a lazy load
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void kitchenBoardIsOneStatement() {
+        statistics.clear();
+        List<Order> orders = orderService.getBoardOrders(cafe, STATUSES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(orders).hasSize(STATUSES.size() * ORDERS_PER_STATUS);
+        assertThat(orders).allSatisfy(order -> assertThat(order.getItems()).hasSize(ITEMS_PER_ORDER));
+        walkBoard(orders);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void waiterDeliveredBoardIsOneStatement() {
+        User waiter = userRepository.findById(WAITER).orElseThrow();
+        statistics.clear();
+        List<Order> orders = orderService.getBoardOrdersForWaiter(cafe, "READY", waiter);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(orders).hasSize(ORDERS_PER_STATUS / 2);
+        walkBoard(orders);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void orderDetailIsOneStatement() {
+        statistics.clear();
+        Order order = orderService.getOrderById(920L).orElseThrow();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        walkBoard(List.of(order));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /** Touches what the board JSON contains; runs outside any transaction, so a lazy gap would throw. */
+    private static void walkBoard(List<Order> orders) {
+        for (Order order : orders) {
+            assertThat(order.getCafe().getName()).isNotNull();
+            assertThat(order.getCustomer().getFirstName()).isNotNull();
+            assertThat(order.getTable().getTableNumber()).isNotNull();
+            if (order.getBooking() != null) {
+                assertThat(order.getBooking().getStatus()).isNotNull();
+            }
+            assertThat(order.getAssignedChef().getFirstName()).isNotNull();
+            if (order.getAssignedWaiter() != null) {
+                assertThat(order.getAssignedWaiter().getFirstName()).isNotNull();
+            }
+            for (OrderItem item : order.getItems()) {
+                assertThat(item.getMenuItem().getName()).isNotNull();
+                assertThat(item.getMenuItem().getCategory().getName()).isNotNull();
+            }
+        }
+    }
+}
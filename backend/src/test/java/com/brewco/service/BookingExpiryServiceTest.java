@@ -0,0 +1,140 @@
+package com.brewco.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * BookingExpiryService chunks against real bookings, with BookingService
+ * spied to simulate an owner acting mid-run and bookings that keep failing.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking_expiry;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "booking.expiry.batch-size=3"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingExpiryServiceTest {
+
+    private static final long CAFE = 950;
+    private static final long OWNER = 950;
+    private static final long CUSTOMER = 951;
+    private static final long TABLE = 950;
+    private static final int BATCH_SIZE = 3;
+
+    /** Far enough ahead that only the created_at timeout makes a PENDING booking due. */
+    private static final LocalDate NEXT_YEAR = LocalDate.now().plusYears(1);
+
+    @Autowired
+    private BookingExpiryService bookingExpiryService;
+
+    @SpyBean
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        user(OWNER, "CAFE_OWNER");
+        user(CUSTOMER, "CUSTOMER");
+        jdbcTemplate.update("INSERT INTO cafes (id, is_active, is_verified, owner_id, address, name) " +
+                "VALUES (?, TRUE, TRUE, ?, 'Main Street', 'Expiry Cafe')", CAFE, OWNER);
+        jdbcTemplate.update("INSERT INTO cafe_tables (id, capacity, is_available, table_number, cafe_id, status, table_type) " +
+                "VALUES (?, 4, TRUE, 1, ?, 'OCCUPIED', 'STANDARD')", TABLE, CAFE);
+    }
+
+    @Test
+    void stalePendingBookingExpiresAndItsOrderIsCancelled() {
+        booking(950, "PENDING", NEXT_YEAR, LocalDateTime.now().minusDays(2));
+        jdbcTemplate.update("INSERT INTO orders (id, order_ref, grand_total, total_amount, cafe_id, customer_id, table_id, " +
+                "booking_id, created_at, order_type, payment_status, status, version) " +
+                "VALUES (950, 'ORD-950', 5, 5, ?, ?, ?, 950, NOW(), 'DINE_IN', 'PENDING', 'PENDING_BOOKING', 0)",
+                CAFE, CUSTOMER, TABLE);
+
+        runChunks();
+
+        assertThat(bookingStatus(950)).isEqualTo("EXPIRED");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = 950", String.class))
+                .isEqualTo("CANCELLED");
+    }
+
+    @Test
+    void finishedConfirmedBookingCompletesAndFreesItsTable() {
+        booking(951, "CONFIRMED", LocalDate.now().minusDays(1), LocalDateTime.now().minusDays(3));
+
+        runChunks();
+
+        assertThat(bookingStatus(951)).isEqualTo("COMPLETED");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM cafe_tables WHERE id = ?", String.class, TABLE))
+                .isEqualTo("AVAILABLE");
+    }
+
+    @Test
+    void bookingTheOwnerAnsweredMeanwhileIsLeftAlone() {
+        booking(952, "PENDING", NEXT_YEAR, LocalDateTime.now().minusDays(2));
+        // The owner confirms between the job's read and its update
+        doAnswer(invocation -> {
+            jdbcTemplate.update("UPDATE bookings SET status = 'CONFIRMED', version = version + 1 WHERE id = 952");
+            return invocation.callRealMethod();
+        }).when(bookingService).expirePendingBooking(952L);
+
+        runChunks();
+
+        assertThat(bookingStatus(952)).isEqualTo("CONFIRMED");
+    }
+
+    @Test
+    void dueBookingsBehindAFailingBatchAreStillReached() {
+        // A full batch that fails every time, sorted ahead of the due booking
+        LocalDate longAgo = LocalDate.of(2020, 1, 1);
+        for (long id = 960; id < 960 + BATCH_SIZE; id++) {
+            booking(id, "PENDING", longAgo, LocalDateTime.now().minusDays(2));
+            doThrow(new IllegalStateException("boom")).when(bookingService).expirePendingBooking(id);
+        }
+        booking(963, "PENDING", longAgo.plusDays(1), LocalDateTime.now().minusDays(2));
+
+        runChunks();
+
+        assertThat(bookingStatus(963)).isEqualTo("EXPIRED");
+        for (long id = 960; id < 960 + BATCH_SIZE; id++) {
+            assertThat(bookingStatus(id)).isEqualTo("PENDING");
+        }
+    }
+
+    /** A few chunks, as one or two JobRunner runs would call them. */
+    private void runChunks() {
+        for (int i = 0; i < 6; i++) {
+            bookingExpiryService.processChunk();
+        }
+    }
+
+    private void user(long id, String role) {
+        jdbcTemplate.update("INSERT INTO users (id, created_at, email, first_name, last_name, gender, role) " +
+                "VALUES (?, NOW(), ?, 'Expiry', 'User', 'OTHER', ?)", id, role.toLowerCase() + id + "@brewco.test", role);
+    }
+
+    private void booking(long id, String status, LocalDate date, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO bookings (id, booking_date, start_time, end_time, slot_duration, number_of_guests, " +
+                "cafe_id, customer_id, table_id, status, booking_ref, created_at, version) " +
+                "VALUES (?, ?, TIME '18:00:00', TIME '19:00:00', 60, 2, ?, ?, ?, ?, ?, ?, 0)",
+                id, date, CAFE, CUSTOMER, TABLE, status, "BK-" + id, createdAt);
+    }
+
+    private String bookingStatus(long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM bookings WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,171 @@
+package com.brewco.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The outbox against a local stand-in for the Resend API: delivery, retry
+ * with backoff, dead-lettering, and no delivery for a rolled-back
+ * transaction.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:email_outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "resend.api-key=test-key",
+        "email.outbox.max-attempts=3"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmailOutboxDeliveryTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static HttpServer resend;
+    private static final AtomicInteger responseStatus = new AtomicInteger(200);
+    private static final List<String> received = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void resendStub(DynamicPropertyRegistry registry) throws IOException {
+        resend = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        resend.createContext("/emails", exchange -> {
+            received.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] body = "{\"id\":\"stub\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus.get(), body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        resend.start();
+        registry.add("resend.api-url", () -> "http://127.0.0.1:" + resend.getAddress().getPort());
+    }
+
+    @AfterAll
+    void stopResend() {
+        resend.stop(0);
+    }
+
+    @BeforeEach
+    void resetResend() {
+        responseStatus.set(200);
+        received.clear();
+    }
+
+    @Test
+    void committedEmailIsSentAndItsBodyCleared() throws Exception {
+        queueAndCommit("Sent subject");
+
+        Map<String, Object> row = awaitRow("Sent subject", "SENT");
+        assertThat(row.get("html")).isNull();
+        assertThat(row.get("attempts")).isEqualTo(1);
+        assertThat(row.get("sent_at")).isNotNull();
+        assertThat(requestsFor("Sent subject")).isEqualTo(1);
+    }
+
+    @Test
+    void failedSendGoesBackToPendingWithBackoff() throws Exception {
+        responseStatus.set(503);
+        LocalDateTime before = LocalDateTime.now();
+        queueAndCommit("Retry subject");
+
+        Map<String, Object> row = awaitRow("Retry subject", r -> ((Integer) r.get("attempts")) == 1);
+        assertThat(row.get("status")).isEqualTo("PENDING");
+        assertThat(row.get("last_error")).asString().contains("503");
+        assertThat(row.get("html")).isNotNull();
+        // First retry waits the 30s base backoff
+        assertThat(((Timestamp) row.get("next_attempt_at")).toLocalDateTime()).isAfter(before.plusSeconds(25));
+    }
+
+    @Test
+    void emailIsDeadAfterMaxAttempts() throws Exception {
+        responseStatus.set(500);
+        queueAndCommit("Dead subject");
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            int done = attempt;
+            awaitRow("Dead subject", r -> ((Integer) r.get("attempts")) == done && "PENDING".equals(r.get("status")));
+            jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = ? WHERE subject = ?",
+                    LocalDateTime.now().minusSeconds(1), "Dead subject");
+            emailOutboxDispatcher.sweep();
+        }
+
+        Map<String, Object> row = awaitRow("Dead subject", "DEAD");
+        assertThat(row.get("attempts")).isEqualTo(MAX_ATTEMPTS);
+        assertThat(requestsFor("Dead subject")).isEqualTo(MAX_ATTEMPTS);
+    }
+
+    @Test
+    void rolledBackEmailIsNeverSent() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.queueEmail("guest@brewco.test", "Rolled back subject", "<p>never</p>");
+            status.setRollbackOnly();
+        });
+        emailOutboxDispatcher.sweep();
+
+        Thread.sleep(500);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_outbox WHERE subject = ?",
+                Integer.class, "Rolled back subject")).isZero();
+        assertThat(requestsFor("Rolled back subject")).isZero();
+    }
+
+    private void queueAndCommit(String subject) {
+        transactionTemplate.executeWithoutResult(status ->
+                emailService.queueEmail("guest@brewco.test", subject, "<p>" + subject + "</p>"));
+    }
+
+    private long requestsFor(String subject) {
+        return received.stream().filter(body -> body.contains("\"subject\":\"" + subject + "\"")).count();
+    }
+
+    private Map<String, Object> awaitRow(String subject, String status) throws InterruptedException {
+        return awaitRow(subject, row -> status.equals(row.get("status")));
+    }
+
+    private Map<String, Object> awaitRow(String subject, Predicate<Map<String, Object>> condition)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        Map<String, Object> row;
+        do {
+            row = jdbcTemplate.queryForMap("SELECT * FROM email_outbox WHERE subject = ?", subject);
+            if (condition.test(row)) {
+                return row;
+            }
+            Thread.sleep(20);
+        } while (System.currentTimeMillis() < deadline);
+        throw new AssertionError("Outbox row '" + subject + "' never reached the expected state: " + row);
+    }
+}
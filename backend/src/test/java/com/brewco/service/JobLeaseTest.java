@@ -0,0 +1,226 @@
+package com.brewco.service;
+
+import com.brewco.dto.JobRunResult;
+import com.brewco.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two JobRunners with their own jobs.node-id sharing one job_leases table,
+ * as two nodes would.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+        "spring.datasource.url=jdbc:h2:mem:job_lease;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JobLeaseTest {
+
+    private static final Duration MAX_RUN_TIME = Duration.ofMinutes(5);
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void onlyOneNodeRunsAJobBothReachForAtOnce() throws Exception {
+        ExecutorService nodes = Executors.newFixedThreadPool(2);
+        try {
+            // Fresh names, so both the first-run INSERT race and the UPDATE race get exercised
+            for (int round = 0; round < 20; round++) {
+                CountDownLatch holdLease = new CountDownLatch(1);
+                TestJob job = new TestJob("lease-race-" + round, () -> await(holdLease));
+                JobRunner nodeA = runner("node-a", job);
+                JobRunner nodeB = runner("node-b", job);
+                CountDownLatch start = new CountDownLatch(1);
+
+                Future<JobRunResult> a = nodes.submit(() -> { start.await(); return nodeA.run(job, "schedule"); });
+                Future<JobRunResult> b = nodes.submit(() -> { start.await(); return nodeB.run(job, "schedule"); });
+                start.countDown();
+
+                // The loser returns while the winner is still inside its run
+                JobRunResult first = awaitFirst(a, b);
+                assertThat(first.outcome()).isEqualTo("SKIPPED");
+                holdLease.countDown();
+
+                List<String> outcomes = new ArrayList<>(List.of(a.get(10, TimeUnit.SECONDS).outcome(),
+                        b.get(10, TimeUnit.SECONDS).outcome()));
+                assertThat(outcomes).as("round %d", round).containsExactlyInAnyOrder("COMPLETED", "SKIPPED");
+                assertThat(job.runs.get()).as("round %d", round).isEqualTo(1);
+            }
+        } finally {
+            nodes.shutdownNow();
+        }
+    }
+
+    @Test
+    void expiredLeaseIsTakenOver() {
+        TestJob job = new TestJob("lease-expired", () -> { });
+        lease(job.getName(), "dead-node", LocalDateTime.now().minusMinutes(10), LocalDateTime.now().minusMinutes(1));
+
+        JobRunResult result = runner("node-a", job).run(job, "schedule");
+
+        assertThat(result.outcome()).isEqualTo("COMPLETED");
+        assertThat(job.runs.get()).isEqualTo(1);
+        assertThat(leaseRow(job.getName()).get("locked_by")).isEqualTo("node-a");
+    }
+
+    @Test
+    void liveLeaseIsNotTakenOver() {
+        TestJob job = new TestJob("lease-live", () -> { });
+        lease(job.getName(), "node-b", LocalDateTime.now(), LocalDateTime.now().plusMinutes(5));
+
+        JobRunResult result = runner("node-a", job).run(job, "schedule");
+
+        assertThat(result.outcome()).isEqualTo("SKIPPED");
+        assertThat(job.runs.get()).isZero();
+        assertThat(leaseRow(job.getName()).get("locked_by")).isEqualTo("node-b");
+    }
+
+    @Test
+    void finishedRunReleasesItsOwnLease() {
+        TestJob job = new TestJob("lease-release", () -> { });
+
+        runner("node-a", job).run(job, "schedule");
+
+        // locked_at (ms-truncated) matched the datetime(6) value read back, so the lease was ended early
+        LocalDateTime lockedUntil = ((Timestamp) leaseRow(job.getName()).get("locked_until")).toLocalDateTime();
+        assertThat(lockedUntil).isBefore(LocalDateTime.now().plusSeconds(1));
+        assertThat(runner("node-b", job).run(job, "schedule").outcome()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void staleHolderCannotReleaseTheNextHoldersLease() {
+        LocalDateTime takenOverUntil = LocalDateTime.now().plusMinutes(5).truncatedTo(ChronoUnit.MILLIS);
+        // While node-a overruns, its lease runs out and node-b takes the job
+        TestJob job = new TestJob("lease-stale", () -> jdbcTemplate.update(
+                "UPDATE job_leases SET locked_by = 'node-b', locked_at = ?, locked_until = ? WHERE job_name = 'lease-stale'",
+                LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS), takenOverUntil));
+
+        assertThat(runner("node-a", job).run(job, "schedule").outcome()).isEqualTo("COMPLETED");
+
+        Map<String, Object> row = leaseRow(job.getName());
+        assertThat(row.get("locked_by")).isEqualTo("node-b");
+        assertThat(((Timestamp) row.get("locked_until")).toLocalDateTime()).isEqualTo(takenOverUntil);
+    }
+
+    @Test
+    void releaseMatchesOnlyTheExactHolderAndLockTime() {
+        LocalDateTime lockedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime until = lockedAt.plus(MAX_RUN_TIME);
+        lease("lease-exact", "node-a", lockedAt, until);
+
+        assertThat(jobLeaseRepository.release("lease-exact", "node-b", lockedAt, LocalDateTime.now())).isZero();
+        assertThat(jobLeaseRepository.release("lease-exact", "node-a", lockedAt.minusNanos(1_000_000), LocalDateTime.now()))
+                .isZero();
+        assertThat(jobLeaseRepository.acquire("lease-exact", "node-b", LocalDateTime.now(), until)).isZero();
+        assertThat(jobLeaseRepository.release("lease-exact", "node-a", lockedAt, LocalDateTime.now())).isEqualTo(1);
+        assertThat(jobLeaseRepository.acquire("lease-exact", "node-b", LocalDateTime.now(), until)).isEqualTo(1);
+    }
+
+    private JobRunner runner(String nodeId, ClusterJob job) {
+        JobRunner runner = new JobRunner();
+        ReflectionTestUtils.setField(runner, "configuredNodeId", nodeId);
+        ReflectionTestUtils.setField(runner, "jobList", List.of(job));
+        ReflectionTestUtils.setField(runner, "jobLeaseRepository", jobLeaseRepository);
+        ReflectionTestUtils.setField(runner, "taskScheduler", taskScheduler);
+        ReflectionTestUtils.setField(runner, "meterRegistry", new SimpleMeterRegistry());
+        runner.init();
+        return runner;
+    }
+
+    private void lease(String job, String node, LocalDateTime lockedAt, LocalDateTime lockedUntil) {
+        jdbcTemplate.update("INSERT INTO job_leases (job_name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                job, lockedUntil, lockedAt, node);
+    }
+
+    private Map<String, Object> leaseRow(String job) {
+        return jdbcTemplate.queryForMap("SELECT * FROM job_leases WHERE job_name = ?", job);
+    }
+
+    private static JobRunResult awaitFirst(Future<JobRunResult> a, Future<JobRunResult> b) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (a.isDone()) {
+                return a.get();
+            }
+            if (b.isDone()) {
+                return b.get();
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Neither node finished");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Runs one chunk, doing {@code work} inside it. */
+    private static class TestJob implements ClusterJob {
+
+        private final String name;
+        private final Runnable work;
+        private final AtomicInteger runs = new AtomicInteger();
+
+        TestJob(String name, Runnable work) {
+            this.name = name;
+            this.work = work;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Duration getInterval() {
+            return Duration.ofHours(1);
+        }
+
+        @Override
+        public Duration getMaxRunTime() {
+            return MAX_RUN_TIME;
+        }
+
+        @Override
+        public int processChunk() {
+            runs.incrementAndGet();
+            work.run();
+            return 0;
+        }
+    }
+}
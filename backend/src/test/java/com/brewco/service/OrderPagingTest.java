@@ -0,0 +1,100 @@
+package com.brewco.service;
+
+import com.brewco.dto.KeysetPage;
+import com.brewco.dto.OrderSummaryView;
+import com.brewco.entity.Cafe;
+import com.brewco.entity.User;
+import com.brewco.repository.CafeRepository;
+import com.brewco.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+        "spring.datasource.url=jdbc:h2:mem:order_paging;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderPagingTest {
+
+    private static final int ORDERS = 120;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CafeRepository cafeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cafe cafe;
+    private User customer;
+
+    @BeforeAll
+    void placeOrders() {
+        jdbcTemplate.update("INSERT INTO users (id, created_at, email, first_name, last_name, gender, role) " +
+                "VALUES (900, NOW(), 'paging@brewco.test', 'Page', 'Customer', 'OTHER', 'CUSTOMER')");
+        jdbcTemplate.update("INSERT INTO cafes (id, is_active, is_verified, owner_id, address, name) " +
+                "VALUES (900, TRUE, TRUE, 900, 'Main Street', 'Paging Cafe')");
+        cafe = cafeRepository.findById(900L).orElseThrow();
+        customer = userRepository.findById(900L).orElseThrow();
+        for (int i = 0; i < ORDERS; i++) {
+            // Pairs share a timestamp, so the id tie-break in the cursor matters
+            jdbcTemplate.update("INSERT INTO orders (grand_total, total_amount, cafe_id, customer_id, created_at, " +
+                    "order_type, payment_status, status, version) VALUES (10, 10, ?, ?, " +
+                    "TIMESTAMPADD(MINUTE, ?, TIMESTAMP '2026-01-01 08:00:00'), 'DINE_IN', 'PAID', 'DELIVERED', 0)",
+                    cafe.getId(), customer.getId(), i / 2);
+        }
+    }
+
+    @Test
+    void withoutLimitEveryListReturnsTheDefaultPage() {
+        KeysetPage<OrderSummaryView> page = orderService.getCustomerOrderPage(customer, null, null);
+
+        assertThat(page.items()).hasSize(OrderService.DEFAULT_PAGE_SIZE);
+        assertThat(page.nextCursor()).isNotNull();
+        assertThat(orderService.getCafeOrderPageByStatus(cafe, "DELIVERED", null, null).items())
+                .hasSize(OrderService.DEFAULT_PAGE_SIZE);
+        assertThat(orderService.getCafeOrderPage(cafe, null, null).items()).hasSize(OrderService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void followingTheCursorVisitsEveryOrderOnce() {
+        Set<Long> seen = new HashSet<>();
+        KeysetPage<OrderSummaryView> page = orderService.getCustomerOrderPage(customer, null, 50);
+        assertThat(page.items()).hasSize(50);
+        page.items().forEach(order -> seen.add(order.getId()));
+
+        // A cursor without a limit pages at the default size
+        page = orderService.getCustomerOrderPage(customer, page.nextCursor(), null);
+        assertThat(page.items()).hasSize(OrderService.DEFAULT_PAGE_SIZE);
+        page.items().forEach(order -> seen.add(order.getId()));
+
+        page = orderService.getCustomerOrderPage(customer, page.nextCursor(), 50);
+        assertThat(page.items()).hasSize(ORDERS - 50 - OrderService.DEFAULT_PAGE_SIZE);
+        assertThat(page.nextCursor()).isNull();
+        page.items().forEach(order -> seen.add(order.getId()));
+
+        assertThat(seen).hasSize(ORDERS);
+    }
+
+    @Test
+    void limitIsCappedAtMaxPageSize() {
+        assertThat(orderService.getCustomerOrderPage(customer, null, 1000).items())
+                .hasSize(OrderService.MAX_PAGE_SIZE);
+    }
+}
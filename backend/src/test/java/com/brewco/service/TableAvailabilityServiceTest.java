@@ -0,0 +1,105 @@
+package com.brewco.service;
+
+import com.brewco.entity.Booking;
+import com.brewco.exception.BookingConflictException;
+import com.brewco.repository.CafeRepository;
+import com.brewco.repository.CafeTableRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * reserve() when this node's view of the day is out of date, as after a
+ * booking made or cancelled on another node: bookings are written straight
+ * to the database here, behind the service's back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+        "spring.datasource.url=jdbc:h2:mem:table_availability;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TableAvailabilityServiceTest {
+
+    private static final long CAFE = 910;
+    private static final long TABLE = 911;
+    private static final LocalTime SEVEN_PM = LocalTime.of(19, 0);
+    private static final LocalTime EIGHT_PM = LocalTime.of(20, 0);
+
+    @Autowired
+    private TableAvailabilityService tableAvailabilityService;
+
+    @Autowired
+    private CafeRepository cafeRepository;
+
+    @Autowired
+    private CafeTableRepository cafeTableRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void createTable() {
+        jdbcTemplate.update("INSERT INTO users (id, created_at, email, first_name, last_name, gender, role) " +
+                "VALUES (910, NOW(), 'tables@brewco.test', 'Table', 'Owner', 'OTHER', 'CAFE_OWNER')");
+        jdbcTemplate.update("INSERT INTO cafes (id, is_active, is_verified, owner_id, address, name) " +
+                "VALUES (?, TRUE, TRUE, 910, 'Main Street', 'Table Cafe')", CAFE);
+        jdbcTemplate.update("INSERT INTO cafe_tables (id, capacity, is_available, table_number, cafe_id, status, table_type) " +
+                "VALUES (?, 4, TRUE, 1, ?, 'AVAILABLE', 'STANDARD')", TABLE, CAFE);
+    }
+
+    @Test
+    void bookingMadeElsewhereIsRejectedAndReloaded() {
+        LocalDate date = LocalDate.of(2030, 3, 1);
+        assertThat(tableAvailabilityService.isTableFree(CAFE, TABLE, date, SEVEN_PM, EIGHT_PM)).isTrue();
+        insertBooking(date, "CONFIRMED");
+
+        assertThatThrownBy(() -> reserve(date)).isInstanceOf(BookingConflictException.class);
+        assertThat(tableAvailabilityService.isTableFree(CAFE, TABLE, date, SEVEN_PM, EIGHT_PM)).isFalse();
+    }
+
+    @Test
+    void bookingCancelledElsewhereNoLongerBlocks() {
+        LocalDate date = LocalDate.of(2030, 3, 2);
+        long bookingId = insertBooking(date, "CONFIRMED");
+        assertThat(tableAvailabilityService.isTableFree(CAFE, TABLE, date, SEVEN_PM, EIGHT_PM)).isFalse();
+        jdbcTemplate.update("UPDATE bookings SET status = 'CANCELLED' WHERE id = ?", bookingId);
+
+        reserve(date);
+        assertThat(tableAvailabilityService.isTableFree(CAFE, TABLE, date, SEVEN_PM, EIGHT_PM)).isTrue();
+    }
+
+    private void reserve(LocalDate date) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Booking booking = new Booking();
+            booking.setCafe(cafeRepository.findById(CAFE).orElseThrow());
+            booking.setTable(cafeTableRepository.findById(TABLE).orElseThrow());
+            booking.setBookingDate(date);
+            booking.setStartTime(SEVEN_PM);
+            booking.setEndTime(EIGHT_PM);
+            booking.setStatus("PENDING");
+            tableAvailabilityService.reserve(booking);
+        });
+    }
+
+    private long insertBooking(LocalDate date, String status) {
+        jdbcTemplate.update("INSERT INTO bookings (booking_date, start_time, end_time, number_of_guests, cafe_id, " +
+                "customer_id, table_id, status) VALUES (?, ?, ?, 2, ?, 910, ?, ?)",
+                date, SEVEN_PM, EIGHT_PM, CAFE, TABLE, status);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM bookings", Long.class);
+    }
+}
@@ -0,0 +1,156 @@
+package com.brewco.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReferenceGeneratorTest {
+
+    private static final long START = 1767225600000L; // 2026-01-01T00:00:00Z
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 250_000;
+
+    @Test
+    void concurrentIdsAreUniqueWithRealClock() throws Exception {
+        ReferenceGenerator generator = generator(System::currentTimeMillis, 1);
+
+        long[] ids = generateConcurrently(generator);
+
+        assertAllDistinct(ids);
+    }
+
+    /** A frozen clock forces every id after the first 4096 through the sequence-overflow path. */
+    @Test
+    void concurrentIdsAreUniqueWhenTheSequenceOverflows() throws Exception {
+        ReferenceGenerator generator = generator(() -> START, 1);
+
+        long[] ids = generateConcurrently(generator);
+
+        assertAllDistinct(ids);
+        assertThat(timestampOf(Arrays.stream(ids).max().getAsLong()))
+                .as("generator runs ahead of a stuck clock")
+                .isGreaterThan(START);
+    }
+
+    /** The clock jumps back 50 ms after every 100 reads, concurrently with every thread reading it. */
+    @Test
+    void concurrentIdsAreUniqueWhenTheClockRegresses() throws Exception {
+        AtomicLong reads = new AtomicLong();
+        ReferenceGenerator generator = generator(() -> {
+            long n = reads.incrementAndGet();
+            return START + n / 10 - ((n / 100) % 2) * 50;
+        }, 1);
+
+        long[] ids = generateConcurrently(generator);
+
+        assertAllDistinct(ids);
+    }
+
+    @Test
+    void idsKeepIncreasingAcrossClockRegressionAndOverflow() {
+        AtomicLong now = new AtomicLong(START);
+        ReferenceGenerator generator = generator(now::get, 7);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 3_000) {
+                now.addAndGet(-1_000); // NTP step backwards
+            } else if (i == 6_000) {
+                now.addAndGet(5_000);  // clock catches up and passes the generator
+            }
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            assertThat(nodeOf(id)).isEqualTo(7);
+            previous = id;
+        }
+        assertThat(timestampOf(previous)).isEqualTo(START + 4_000);
+    }
+
+    @Test
+    void nodesNeverShareIds() {
+        ReferenceGenerator first = generator(() -> START, 1);
+        ReferenceGenerator second = generator(() -> START, 2);
+
+        long[] ids = new long[20_000];
+        for (int i = 0; i < ids.length; i += 2) {
+            ids[i] = first.nextId();
+            ids[i + 1] = second.nextId();
+        }
+
+        assertAllDistinct(ids);
+    }
+
+    @Test
+    void referencesCarryTheirPrefix() {
+        ReferenceGenerator generator = generator(System::currentTimeMillis, 0);
+
+        assertThat(generator.generateOrderReference()).matches("ORD-[0-9A-Z]+");
+        assertThat(generator.generateBookingReference()).matches("BKG-[0-9A-Z]+");
+        assertThat(generator.generatePaymentReference()).matches("PAY-[0-9A-Z]+");
+    }
+
+    private static ReferenceGenerator generator(LongSupplier clock, long nodeId) {
+        ReferenceGenerator generator = new ReferenceGenerator(clock);
+        ReflectionTestUtils.setField(generator, "configuredNodeId", nodeId);
+        generator.init();
+        return generator;
+    }
+
+    private static long[] generateConcurrently(ReferenceGenerator generator) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<long[]>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                tasks.add(() -> {
+                    long[] ids = new long[IDS_PER_THREAD];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                });
+            }
+            long[] all = new long[THREADS * IDS_PER_THREAD];
+            int offset = 0;
+            for (Future<long[]> result : pool.invokeAll(tasks)) {
+                long[] ids = result.get();
+                for (int i = 1; i < ids.length; i++) {
+                    assertThat(ids[i]).as("ids seen by one thread increase").isGreaterThan(ids[i - 1]);
+                }
+                System.arraycopy(ids, 0, all, offset, ids.length);
+                offset += ids.length;
+            }
+            return all;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void assertAllDistinct(long[] ids) {
+        long[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new AssertionError("Duplicate id " + sorted[i]);
+            }
+        }
+    }
+
+    private static long timestampOf(long id) {
+        return (id >>> 22) + 1704067200000L;
+    }
+
+    private static long nodeOf(long id) {
+        return (id >>> 12) & 1023;
+    }
+}
@@ -0,0 +1,58 @@
+-- Production-like row counts and value spread for QueryPlanIndexTest, so the planner's choice
+-- between the composite indexes and the single-column foreign key indexes is a real one.
+-- 2,000 users, 40 cafes, 400 tables, 20,000 orders, 5,000 bookings; ids start at 100000.
+
+insert into users (id, created_at, email, first_name, last_name, gender, role, is_active)
+select 100000 + x, timestamp '2025-01-01 00:00:00' + x * interval '1' hour, 'user' || x || '@plan.test',
+       'First', 'Last', 'MALE', case when x <= 40 then 'CAFE_OWNER' when x <= 200 then 'CHEF' else 'CUSTOMER' end,
+       mod(x, 10) <> 0
+from system_range(1, 2000);
+
+insert into cafes (id, owner_id, name, address, is_active, is_verified)
+select 100000 + x, 100000 + x, 'Cafe ' || x, 'Street ' || x, true, mod(x, 4) <> 0
+from system_range(1, 40);
+
+insert into cafe_tables (id, cafe_id, table_number, capacity, is_available, status, table_type)
+select 100000 + x, 100000 + mod(x, 40) + 1, x, 4, true,
+       case mod(x, 3) when 0 then 'AVAILABLE' when 1 then 'OCCUPIED' else 'RESERVED' end, 'REGULAR'
+from system_range(1, 400);
+
+insert into orders (id, cafe_id, customer_id, table_id, status, order_type, payment_status,
+                    total_amount, grand_total, created_at, version)
+select 100000 + x, 100000 + mod(x, 40) + 1, 100200 + mod(x, 1800) + 1, 100000 + mod(x, 400) + 1,
+       case mod(x, 8) when 0 then 'PLACED' when 1 then 'CONFIRMED' when 2 then 'PREPARING' when 3 then 'READY'
+                      when 4 then 'SENT_TO_KITCHEN' when 5 then 'CANCELLED' else 'DELIVERED' end,
+       'DINE_IN', 'PAID', 100, 105, timestamp '2025-01-01 00:00:00' + x * interval '10' minute, 0
+from system_range(1, 20000);
+
+insert into order_status_history (id, order_id, changed_by_id, status, changed_at)
+select 100000 + x, 100000 + mod(x, 20000) + 1, 100001, 'CONFIRMED', timestamp '2025-01-01 00:00:00' + x * interval '5' minute
+from system_range(1, 40000);
+
+insert into bookings (id, cafe_id, customer_id, table_id, booking_date, start_time, number_of_guests, status, version)
+select 100000 + x, 100000 + mod(x, 40) + 1, 100200 + mod(x, 1800) + 1, 100000 + mod(x, 400) + 1,
+       date '2025-01-01' + mod(x, 365), time '08:00:00' + mod(x, 48) * interval '15' minute, 2,
+       case mod(x, 5) when 0 then 'PENDING' when 1 then 'CONFIRMED' when 2 then 'CANCELLED' when 3 then 'EXPIRED' else 'COMPLETED' end,
+       0
+from system_range(1, 5000);
+
+insert into staff_assignments (id, cafe_id, user_id, assigned_role, is_active, assigned_at)
+select 100000 + x, 100000 + mod(x, 40) + 1, 100040 + x, case mod(x, 2) when 0 then 'CHEF' else 'WAITER' end,
+       mod(x, 5) <> 0, timestamp '2025-01-01 00:00:00'
+from system_range(1, 160);
+
+insert into menu_categories (id, cafe_id, name, display_order, is_active)
+select 100000 + x, 100000 + mod(x, 40) + 1, 'Category ' || x, mod(x, 10), mod(x, 6) <> 0
+from system_range(1, 400);
+
+insert into payments (id, order_id, amount, payment_method, status, razorpay_order_id)
+select 100000 + x, 100000 + x, 105, 'UPI', case mod(x, 4) when 0 then 'FAILED' else 'SUCCESS' end, 'order_' || x
+from system_range(1, 10000);
+
+insert into email_outbox (id, to_email, subject, status, attempts, next_attempt_at, created_at)
+select 100000 + x, 'user' || x || '@plan.test', 'Subject',
+       case mod(x, 20) when 0 then 'PENDING' when 1 then 'DEAD' else 'SENT' end, 1,
+       timestamp '2025-01-01 00:00:00' + x * interval '1' minute, timestamp '2025-01-01 00:00:00'
+from system_range(1, 10000);
+
+analyze;
@@ -0,0 +1,46 @@
+import api from './axiosClient';
+
+const API_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api';
+
+/**
+ * Opens a Server-Sent Events stream against the backend (cookies included).
+ * `handlers` maps event names to callbacks receiving the parsed JSON payload.
+ *
+ * EventSource retries network drops on its own, but gives up on a non-200
+ * (e.g. 401 after the access token expires). In that case we hit `probePath`
+ * through axios so the refresh interceptor renews the cookie, then reopen.
+ * Returns a function that closes the stream.
+ */
+export function openEventStream(path, handlers, { probePath, retryMs = 5000 } = {}) {
+  let source = null;
+  let retryTimer = null;
+  let closed = false;
+
+  const connect = () => {
+    source = new EventSource(`${API_URL}${path}`, { withCredentials: true });
+    Object.entries(handlers).forEach(([name, handler]) => {
+      source.addEventListener(name, (e) => {
+        try {
+          handler(JSON.parse(e.data));
+        } catch { /* ignore malformed event */ }
+      });
+    });
+    source.onerror = () => {
+      if (closed || source.readyState !== EventSource.CLOSED) return;
+      retryTimer = setTimeout(async () => {
+        if (probePath) {
+          try { await api.get(probePath); } catch { /* ignore */ }
+        }
+        if (!closed) connect();
+      }, retryMs);
+    };
+  };
+
+  connect();
+
+  return () => {
+    closed = true;
+    clearTimeout(retryTimer);
+    if (source) source.close();
+  };
+}
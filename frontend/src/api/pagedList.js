@@ -0,0 +1,46 @@
+import api from './axiosClient';
+
+/**
+ * Keyset-paged order lists. The body is one page, newest first; the
+ * X-Next-Cursor header (absent on the last page) is passed back as ?cursor=
+ * for the page after it. A list is kept as { items, nextCursor, pages }.
+ */
+export const EMPTY_LIST = { items: [], nextCursor: null, pages: 0 };
+
+export async function fetchPage(url, cursor) {
+  const res = await api.get(url, { params: cursor ? { cursor } : {} });
+  return { items: res.data || [], nextCursor: res.headers['x-next-cursor'] || null };
+}
+
+/** The first page, replacing whatever was loaded. */
+export async function loadFirstPage(url) {
+  return { ...(await fetchPage(url)), pages: 1 };
+}
+
+/** The next page appended to the list; orders already shown are not repeated. */
+export async function loadNextPage(url, list) {
+  const page = await fetchPage(url, list.nextCursor);
+  const ids = new Set(list.items.map(o => o.id));
+  return {
+    items: [...list.items, ...page.items.filter(o => !ids.has(o.id))],
+    nextCursor: page.nextCursor,
+    pages: list.pages + 1,
+  };
+}
+
+/**
+ * Reloads the first page without dropping pages the user has already loaded
+ * behind it, so a periodic refresh does not collapse a long list.
+ */
+export async function refreshFirstPage(url, list) {
+  const page = await fetchPage(url);
+  if (list.pages <= 1) {
+    return { ...page, pages: 1 };
+  }
+  const ids = new Set(page.items.map(o => o.id));
+  return {
+    items: [...page.items, ...list.items.filter(o => !ids.has(o.id))],
+    nextCursor: list.nextCursor,
+    pages: list.pages,
+  };
+}
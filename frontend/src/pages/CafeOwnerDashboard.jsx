@@ -2,6 +2,7 @@ import React, { useEffect, useState, useContext, useRef } from "react";
 import { useNavigate } from "react-router-dom";
 import { AuthContext } from "../context/AuthContext";
 import api from "../api/axiosClient";
+import { EMPTY_LIST, loadFirstPage, loadNextPage, refreshFirstPage } from "../api/pagedList";
 import toast from "react-hot-toast";
 import {
   FaCoffee, FaMoneyBillWave, FaShoppingCart, FaCheckCircle,
@@ -37,7 +38,10 @@ export default function CafeOwnerDashboard() {
   const [activeTab, setActiveTab] = useState("overview");
   const [loading, setLoading] = useState(true);
 
-  const [orders, setOrders] = useState([]);
+  // Newest 50 orders first; older pages are loaded on demand and kept across refreshes
+  const [orderList, setOrderList] = useState(EMPTY_LIST);
+  const [loadingMoreOrders, setLoadingMoreOrders] = useState(false);
+  const orders = orderList.items;
   const [tables, setTables] = useState([]);
   const [menuItems, setMenuItems] = useState([]);
   const [categories, setCategories] = useState([]);
@@ -74,6 +78,12 @@ export default function CafeOwnerDashboard() {
 
   const selectedCafeRef = useRef(null);
   const intervalRef = useRef(null);
+  const orderListRef = useRef(EMPTY_LIST);
+
+  const showOrders = (list) => {
+    orderListRef.current = list;
+    setOrderList(list);
+  };
 
   useEffect(() => {
     loadCafes();
@@ -92,11 +102,11 @@ export default function CafeOwnerDashboard() {
   const refreshLive = async (cafeId) => {
     try {
       const [ordRes, bookRes, dashRes] = await Promise.all([
-        api.get(`/cafe-owner/cafes/${cafeId}/orders`),
+        refreshFirstPage(`/cafe-owner/cafes/${cafeId}/orders`, orderListRef.current),
         api.get(`/cafe-owner/cafes/${cafeId}/bookings`),
         api.get(`/cafe-owner/cafes/${cafeId}/dashboard`),
       ]);
-      setOrders(ordRes.data || []);
+      showOrders(ordRes);
       setBookings(bookRes.data || []);
       setDashboard(dashRes.data || null);
     } catch (e) { /* silent refresh */ }
@@ -126,21 +136,38 @@ export default function CafeOwnerDashboard() {
   const loadCafeData = async (cafeId) => {
     const fetchers = [
       { key: "dashboard", url: `/cafe-owner/cafes/${cafeId}/dashboard`, setter: setDashboard },
-      { key: "orders", url: `/cafe-owner/cafes/${cafeId}/orders`, setter: setOrders },
       { key: "tables", url: `/cafe-owner/cafes/${cafeId}/tables`, setter: setTables },
       { key: "categories", url: `/cafe-owner/cafes/${cafeId}/menu/categories`, setter: setCategories },
       { key: "items", url: `/cafe-owner/cafes/${cafeId}/menu/items`, setter: setMenuItems },
       { key: "staff", url: `/cafe-owner/cafes/${cafeId}/staff`, setter: setStaff },
       { key: "bookings", url: `/cafe-owner/cafes/${cafeId}/bookings`, setter: setBookings },
     ];
-    await Promise.all(fetchers.map(async (f) => {
+    const loadOrders = async () => {
+      try {
+        showOrders(await loadFirstPage(`/cafe-owner/cafes/${cafeId}/orders`));
+      } catch (err) {
+        console.error("Failed to load orders:", err.response?.data || err.message);
+      }
+    };
+    await Promise.all([loadOrders(), ...fetchers.map(async (f) => {
       try {
         const res = await api.get(f.url);
         f.setter(res.data || []);
       } catch (err) {
         console.error(`Failed to load ${f.key}:`, err.response?.data || err.message);
       }
-    }));
+    })]);
+  };
+
+  const loadMoreOrders = async () => {
+    if (!selectedCafe) return;
+    setLoadingMoreOrders(true);
+    try {
+      showOrders(await loadNextPage(`/cafe-owner/cafes/${selectedCafe.id}/orders`, orderListRef.current));
+    } catch (err) {
+      toast.error(err.response?.data?.error || "Failed to load more orders");
+    }
+    setLoadingMoreOrders(false);
   };
 
   const handleAddClick = (type) => { setModalType(type); setIsModalOpen(true); };
@@ -503,6 +530,12 @@ export default function CafeOwnerDashboard() {
                 No orders for the selected filter.
               </div>
             )}
+            {orderList.nextCursor && (
+              <button className="brew-btn" disabled={loadingMoreOrders} onClick={loadMoreOrders}
+                style={{ alignSelf: "center", padding: "8px 20px", fontSize: "0.8rem", background: "#fff", border: "1px solid #d4c0a8", color: "#6f4e37" }}>
+                {loadingMoreOrders ? "Loading…" : "Load older orders"}
+              </button>
+            )}
           </div>
         )}
 
@@ -1,6 +1,8 @@
-import React, { useEffect, useState, useContext } from 'react'
+import React, { useEffect, useState, useContext, useRef } from 'react'
 import { AuthContext } from '../context/AuthContext'
 import api from '../api/axiosClient'
+import { openEventStream } from '../api/eventStream'
+import { EMPTY_LIST, loadNextPage, refreshFirstPage } from '../api/pagedList'
 import toast from 'react-hot-toast'
 import { FaInbox, FaFire, FaBell, FaUser, FaUtensils, FaConciergeBell, FaFlagCheckered, FaWalking } from 'react-icons/fa'
 import '../styles/dashboard.css'
@@ -23,37 +25,57 @@ const FILTERS = [
 export default function ChefDashboard() {
   const { user } = useContext(AuthContext)
   const [orders, setOrders]   = useState([])
-  const [historyOrders, setHistoryOrders] = useState([])
+  const [history, setHistory] = useState(EMPTY_LIST)
+  const [loadingMore, setLoadingMore] = useState(false)
+  // The event stream's handlers are created once, so the history they extend is read through a ref
+  const historyRef = useRef(EMPTY_LIST)
   const [loading, setLoading] = useState(true)
   const [filter, setFilter]   = useState('ALL')
 
   useEffect(() => {
-    loadOrders()
     loadHistory()
-    const iv = setInterval(loadOrders, 12000)
-    return () => clearInterval(iv)
+    // Live board: one snapshot, then per-order deltas pushed by the server
+    const close = openEventStream('/chef/orders/stream', {
+      snapshot: (list) => { setOrders(list || []); setLoading(false) },
+      order: (order) => setOrders(prev => {
+        const idx = prev.findIndex(o => o.id === order.id)
+        if (idx === -1) return [...prev, order]
+        const next = [...prev]
+        next[idx] = order
+        return next
+      }),
+      remove: ({ id, status }) => {
+        setOrders(prev => prev.filter(o => o.id !== id))
+        if (status === 'DELIVERED') loadHistory()
+      },
+    }, { probePath: '/chef/orders' })
+    const fallback = setTimeout(() => setLoading(false), 8000)
+    return () => { close(); clearTimeout(fallback) }
   }, [])
 
-  const loadOrders = async () => {
+  // Delivered orders page in 50 at a time; a refresh keeps the pages already loaded
+  const loadHistory = async () => {
     try {
-      const res = await api.get('/chef/orders')
-      setOrders(res.data || [])
+      const page = await refreshFirstPage('/chef/orders/history', historyRef.current)
+      historyRef.current = page
+      setHistory(page)
     } catch { /* ignore */ }
-    setLoading(false)
   }
 
-  const loadHistory = async () => {
+  const loadMoreHistory = async () => {
+    setLoadingMore(true)
     try {
-      const res = await api.get('/chef/orders/history')
-      setHistoryOrders(res.data || [])
-    } catch { /* ignore */ }
+      const page = await loadNextPage('/chef/orders/history', historyRef.current)
+      historyRef.current = page
+      setHistory(page)
+    } catch (err) { toast.error(err.response?.data?.error || 'Failed to load history') }
+    setLoadingMore(false)
   }
 
   const startPreparing = async (orderId) => {
     try {
       await api.put(`/chef/orders/${orderId}/start`)
       toast.success('Started preparing!')
-      loadOrders()
     } catch (err) { toast.error(err.response?.data?.error || 'Failed') }
   }
 
@@ -61,15 +83,14 @@ export default function ChefDashboard() {
     try {
       await api.put(`/chef/orders/${orderId}/ready`)
       toast.success('Order marked ready!')
-      loadOrders()
-      loadHistory()
     } catch (err) { toast.error(err.response?.data?.error || 'Failed') }
   }
 
   const newCount      = orders.filter(o => o.status === 'SENT_TO_KITCHEN').length
   const preparingCount = orders.filter(o => o.status === 'PREPARING').length
   const readyCount    = orders.filter(o => o.status === 'READY').length
-  const deliveredCount = historyOrders.length
+  const historyOrders = history.items
+  const deliveredCount = `${historyOrders.length}${history.nextCursor ? '+' : ''}`
 
   const allOrders = filter === 'DELIVERED' ? historyOrders : orders
   const filtered = filter === 'ALL' ? orders : filter === 'DELIVERED' ? historyOrders : orders.filter(o => o.status === filter)
@@ -112,7 +133,7 @@ export default function ChefDashboard() {
               Hey, {user?.firstName}!
             </h1>
             <p style={{ color:'rgba(245,233,220,0.7)', fontSize:'0.88rem', margin:0 }}>
-              Orders from waiters appear here · auto-refresh every 12s
+              Orders from waiters appear here · updates live
             </p>
           </div>
 
@@ -369,6 +390,14 @@ export default function ChefDashboard() {
             })}
           </div>
         )}
+        {filter === 'DELIVERED' && history.nextCursor && (
+          <div style={{ textAlign:'center', marginTop:22 }}>
+            <button className="brew-btn" disabled={loadingMore} onClick={loadMoreHistory}
+              style={{ padding:'10px 24px', fontSize:'0.84rem', background:'#fff', border:'1px solid #d4c0a8', color:'#6f4e37' }}>
+              {loadingMore ? 'Loading…' : 'Load more history'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   )
@@ -1,13 +1,14 @@
 import React, { useEffect, useState, useContext } from 'react'
 import { Link, useNavigate } from 'react-router-dom'
 import { AuthContext } from '../context/AuthContext'
-import api from '../api/axiosClient'
+import { fetchPage } from '../api/pagedList'
 import '../styles/dashboard.css'
 
 export default function CustomerDashboard() {
   const { user } = useContext(AuthContext)
   const navigate = useNavigate()
   const [orders, setOrders] = useState([])
+  const [moreOrders, setMoreOrders] = useState(false)
   const [loading, setLoading] = useState(true)
 
   useEffect(() => {
@@ -16,14 +17,17 @@ export default function CustomerDashboard() {
 
   const loadOrders = async () => {
     try {
-      const res = await api.get('/customer/orders')
-      setOrders(res.data || [])
+      // Only the newest page; older orders are on My Orders
+      const page = await fetchPage('/customer/orders')
+      setOrders(page.items)
+      setMoreOrders(!!page.nextCursor)
     } catch { /* ignore */ }
     setLoading(false)
   }
 
   const activeOrders = orders.filter(o => !['DELIVERED', 'CANCELLED'].includes(o.status))
   const completedOrders = orders.filter(o => o.status === 'DELIVERED')
+  const more = moreOrders ? '+' : ''
 
   return (
     <div className="dashboard-page">
@@ -45,12 +49,12 @@ export default function CustomerDashboard() {
         </div>
         <div className="stat-card">
           <div className="stat-card__icon">✅</div>
-          <div className="stat-card__value">{completedOrders.length}</div>
+          <div className="stat-card__value">{completedOrders.length}{more}</div>
           <div className="stat-card__label">Completed</div>
         </div>
         <div className="stat-card">
           <div className="stat-card__icon">☕</div>
-          <div className="stat-card__value">{orders.length}</div>
+          <div className="stat-card__value">{orders.length}{more}</div>
           <div className="stat-card__label">Total Orders</div>
         </div>
       </div>
@@ -1,13 +1,14 @@
 import React, { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
-import api from '../api/axiosClient';
+import { EMPTY_LIST, loadFirstPage, loadNextPage } from '../api/pagedList';
 import { FaChevronLeft, FaClock, FaCheckCircle, FaUtensils, FaShoppingBag } from 'react-icons/fa';
 import BottomNav from '../components/BottomNav';
 import '../styles/customer.css';
 
 export default function OrderHistory() {
-    const [orders, setOrders] = useState([]);
+    const [list, setList] = useState(EMPTY_LIST);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [activeTab, setActiveTab] = useState('DINE_IN');
     const navigate = useNavigate();
 
@@ -17,8 +18,7 @@ export default function OrderHistory() {
 
     const loadOrders = async () => {
         try {
-            const res = await api.get('/customer/orders');
-            setOrders(res.data || []);
+            setList(await loadFirstPage('/customer/orders'));
         } catch (err) {
             console.error("Failed to load orders");
         } finally {
@@ -26,7 +26,18 @@ export default function OrderHistory() {
         }
     };
 
-    const filtered = orders.filter(o => o.orderType === activeTab);
+    const loadMore = async () => {
+        setLoadingMore(true);
+        try {
+            setList(await loadNextPage('/customer/orders', list));
+        } catch (err) {
+            console.error("Failed to load more orders");
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
+    const filtered = list.items.filter(o => o.orderType === activeTab);
 
     if (loading) return <div className="brew-spinner-container"><div className="brew-spinner" /></div>;
 
@@ -73,6 +84,11 @@ export default function OrderHistory() {
                             </div>
                         ))
                     )}
+                    {list.nextCursor && (
+                        <button disabled={loadingMore} onClick={loadMore} style={{alignSelf: 'center', border: '1px solid #d4c0a8', background: '#fff', color: '#6f4e37', padding: '10px 25px', borderRadius: '10px', cursor: 'pointer', fontWeight: 700}}>
+                            {loadingMore ? 'Loading…' : 'Load more orders'}
+                        </button>
+                    )}
                 </div>
             </div>
             <BottomNav />
@@ -1,6 +1,7 @@
 import React, { useEffect, useState } from 'react'
 import { useParams, useNavigate } from 'react-router-dom'
 import api from '../api/axiosClient'
+import { openEventStream } from '../api/eventStream'
 import { FaChevronLeft, FaClock, FaCheckCircle, FaMapMarkerAlt, FaReceipt, FaMotorcycle, FaUtensils, FaUser } from 'react-icons/fa'
 import '../styles/customer.css'
 
@@ -31,8 +32,21 @@ export default function OrderTracking() {
 
   useEffect(() => {
     loadOrder()
-    const interval = setInterval(loadOrder, 5000) // Poll every 5s for real-time feel
-    return () => clearInterval(interval)
+    // Status transitions are pushed by the server; the stream closes itself once the order is final
+    const close = openEventStream(`/customer/orders/${orderId}/stream`, {
+      status: (update) => {
+        setOrder(prev => prev && {
+          ...prev,
+          status: update.status,
+          paymentStatus: update.paymentStatus,
+          estimatedReadyTime: update.estimatedReadyTime,
+          updatedAt: update.updatedAt,
+        })
+        // Stop EventSource from reconnecting to a finished order
+        if (update.status === 'DELIVERED' || update.status === 'CANCELLED') close()
+      },
+    }, { probePath: `/customer/orders/${orderId}` })
+    return close
   }, [orderId])
 
   const loadOrder = async () => {
@@ -2,6 +2,7 @@ import React, { useContext, useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { AuthContext } from '../context/AuthContext';
 import api from '../api/axiosClient';
+import { fetchPage } from '../api/pagedList';
 import { FaUserCircle, FaEnvelope, FaPhone, FaMapMarkerAlt, FaSignOutAlt, FaChevronRight, FaShieldAlt, FaEdit, FaTimes, FaCheck, FaClock, FaChevronLeft } from 'react-icons/fa';
 import BottomNav from '../components/BottomNav';
 import toast from 'react-hot-toast';
@@ -25,6 +26,7 @@ export default function Profile() {
 
     // Recent orders
     const [orders, setOrders] = useState([]);
+    const [moreOrders, setMoreOrders] = useState(false);
     const [bookings, setBookings] = useState([]);
 
     useEffect(() => {
@@ -34,10 +36,12 @@ export default function Profile() {
     const loadData = async () => {
         try {
             const [ordersRes, bookingsRes] = await Promise.all([
-                api.get('/customer/orders').catch(() => ({ data: [] })),
+                fetchPage('/customer/orders').catch(() => ({ items: [], nextCursor: null })),
                 api.get('/customer/bookings').catch(() => ({ data: [] }))
             ]);
-            setOrders(ordersRes.data || []);
+            // Only the newest page is loaded; the full list is on My Orders
+            setOrders(ordersRes.items);
+            setMoreOrders(!!ordersRes.nextCursor);
             setBookings(bookingsRes.data || []);
         } catch { /* ignore */ }
     };
@@ -134,7 +138,7 @@ export default function Profile() {
             <div style={{ maxWidth: 600, margin: '-20px auto 0', padding: '0 16px', position: 'relative', zIndex: 2 }}>
                 <div style={{ display: 'grid', gridTemplateColumns: '1fr 1fr 1fr', gap: 10, marginBottom: 20 }}>
                     {[
-                        { v: orders.length, l: 'Total Orders' },
+                        { v: `${orders.length}${moreOrders ? '+' : ''}`, l: 'Total Orders' },
                         { v: activeOrders.length, l: 'Active' },
                         { v: bookings.length, l: 'Bookings' },
                     ].map((s, i) => (